@@ -0,0 +1,156 @@
+package com.yisan.library.compose
+
+import androidx.compose.foundation.gestures.awaitFirstDown
+import androidx.compose.foundation.gestures.forEachGesture
+import androidx.compose.foundation.layout.Spacer
+import androidx.compose.foundation.layout.aspectRatio
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.DisposableEffect
+import androidx.compose.runtime.LaunchedEffect
+import androidx.compose.runtime.remember
+import androidx.compose.runtime.rememberCoroutineScope
+import androidx.compose.runtime.rememberUpdatedState
+import androidx.compose.ui.Modifier
+import androidx.compose.ui.draw.drawBehind
+import androidx.compose.ui.graphics.Color
+import androidx.compose.ui.graphics.drawscope.drawIntoCanvas
+import androidx.compose.ui.graphics.nativeCanvas
+import androidx.compose.ui.graphics.toArgb
+import androidx.compose.ui.hapticfeedback.HapticFeedbackType
+import androidx.compose.ui.input.pointer.consumeAllChanges
+import androidx.compose.ui.input.pointer.pointerInput
+import androidx.compose.ui.layout.onSizeChanged
+import androidx.compose.ui.platform.LocalDensity
+import androidx.compose.ui.platform.LocalHapticFeedback
+import androidx.compose.ui.unit.Dp
+import androidx.compose.ui.unit.dp
+import com.yisan.library.layout.GridPointLayout
+import com.yisan.library.layout.PointLayout
+import com.yisan.library.painter.Painter
+import com.yisan.library.painter.System360Painter
+
+/**
+ * 默认绘制者（所有GestureLock共享）
+ */
+private val DefaultPainter: Painter = System360Painter()
+
+/**
+ * 创建并记住手势解锁状态
+ *
+ * @param animationScaleMode 缩放模式（0正常缩放，1反转缩放）
+ * @param animationScaleRate 缩放比例
+ * @param animationDuration  动画时长（毫秒）
+ * @param pointLayout        点布局（默认3×3网格）
+ */
+@Composable
+fun rememberGestureLockState(
+    animationScaleMode: Int = 0,
+    animationScaleRate: Float = 1.5F,
+    animationDuration: Int = 200,
+    pointLayout: PointLayout = remember { GridPointLayout() }
+): GestureLockState = remember(animationScaleMode, animationScaleRate, animationDuration, pointLayout) {
+    GestureLockState(animationScaleMode, animationScaleRate, animationDuration, pointLayout)
+}
+
+/**
+ * 手势解锁（复用GestureLockView的Painter绘制与GestureRecognizer识别规则）
+ * <p>
+ * 触摸位置与点状态只在drawBehind中读取，手势过程中只会重新绘制，不会重组或重新布局
+ *
+ * @param state        手势解锁状态
+ * @param painter      绘制者（内置5种，或自定义；绘制者不保存状态，可在多个GestureLock间共享）
+ * @param normalColor  正常状态颜色
+ * @param pressColor   按下状态颜色
+ * @param errorColor   出错状态颜色
+ * @param lineSize     连线宽度
+ * @param radiusRatio  点半径比例（与GestureLockView的radius_ratio一致）
+ * @param isVibrate    按下点时是否震动反馈
+ * @param onComplete   解锁完成回调（数字密码）
+ */
+@Composable
+fun GestureLock(
+    state: GestureLockState,
+    modifier: Modifier = Modifier,
+    painter: Painter = DefaultPainter,
+    normalColor: Color = Color(Painter.NORMAL_COLOR),
+    pressColor: Color = Color(Painter.PRESS_COLOR),
+    errorColor: Color = Color(Painter.ERROR_COLOR),
+    lineSize: Dp = 1.dp,
+    radiusRatio: Float = 0.6F,
+    isVibrate: Boolean = true,
+    onComplete: (String) -> Unit = {}
+) {
+    val hapticFeedback = LocalHapticFeedback.current
+    val lineSizePx = with(LocalDensity.current) { lineSize.toPx() }
+    val currentOnComplete = rememberUpdatedState(onComplete)
+    val currentVibrate = rememberUpdatedState(isVibrate)
+    val currentPainter = rememberUpdatedState(painter)
+    val currentHapticFeedback = rememberUpdatedState(hapticFeedback)
+    // 1.设置绘制上下文的画笔颜色，预热绘制者（组合提交后执行，绘制者或颜色变化时重新执行，完成后重新绘制）
+    LaunchedEffect(state, painter, normalColor, pressColor, errorColor) {
+        state.painterContext.setColors(normalColor.toArgb(), pressColor.toArgb(), errorColor.toArgb())
+        painter.prepare(state.painterContext, state.points)
+        state.invalidate()
+    }
+    // 2.状态关联动画协程与按下回调（只设置一次，回调通过rememberUpdatedState读取最新的绘制者与参数）
+    val scope = rememberCoroutineScope()
+    DisposableEffect(state) {
+        state.animationScope = scope
+        state.onPointPressed = { _ ->
+            // 点按下后才回调，新的连线段为倒数第二个与最后一个按下点之间的连线（与GestureLockView一致）
+            val pressCount = state.points.pressCount
+            if (pressCount > 1) {
+                currentPainter.value.commitLineSegment(state.painterContext, state.points, pressCount - 2)
+            }
+            if (currentVibrate.value) {
+                currentHapticFeedback.value.performHapticFeedback(HapticFeedbackType.LongPress)
+            }
+        }
+        // 出错状态的连线着色器在状态切换时构建，不在绘制过程中执行
+        state.onPressStatusChanged = { currentPainter.value.prepare(state.painterContext, state.points) }
+        onDispose {
+            state.animationScope = null
+            state.onPointPressed = null
+            state.onPressStatusChanged = null
+        }
+    }
+    Spacer(
+        modifier
+            .aspectRatio(1F)
+            .onSizeChanged { size ->
+                state.layout(minOf(size.width, size.height).toFloat(), radiusRatio)
+                state.painterContext.clearLineShaders()
+                painter.prepare(state.painterContext, state.points)
+            }
+            .pointerInput(state) {
+                forEachGesture {
+                    awaitPointerEventScope {
+                        val down = awaitFirstDown()
+                        state.down(down.position.x, down.position.y)
+                        down.consumeAllChanges()
+                        while (true) {
+                            val event = awaitPointerEvent()
+                            val change = event.changes.firstOrNull { it.id == down.id } ?: break
+                            if (!change.pressed) {
+                                change.consumeAllChanges()
+                                break
+                            }
+                            state.move(change.position.x, change.position.y)
+                            change.consumeAllChanges()
+                        }
+                        state.up()?.let { currentOnComplete.value(it) }
+                    }
+                }
+            }
+            .drawBehind {
+                // 读取失效信号，点状态变化时只触发重新绘制
+                state.drawVersion
+                val points = state.syncRadius()
+                drawIntoCanvas { canvas ->
+                    painter.drawPoints(state.painterContext, points, canvas.nativeCanvas)
+                    painter.drawLines(state.painterContext, points, state.eventX, state.eventY,
+                            lineSizePx.toInt().coerceAtLeast(1), canvas.nativeCanvas)
+                }
+            }
+    )
+}
@@ -0,0 +1,190 @@
+package com.yisan.library.compose
+
+import androidx.compose.animation.core.Animatable
+import androidx.compose.animation.core.keyframes
+import androidx.compose.animation.core.tween
+import androidx.compose.runtime.Stable
+import androidx.compose.runtime.getValue
+import androidx.compose.runtime.mutableStateOf
+import androidx.compose.runtime.setValue
+import com.yisan.library.GestureRecognizer
+import com.yisan.library.layout.PointLayout
+import com.yisan.library.model.PointArray
+import com.yisan.library.model.PointTable
+import com.yisan.library.painter.PainterContext
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.launch
+
+/**
+ * @description: Compose手势解锁状态（触摸位置与点状态只在绘制阶段读取，手势过程中不触发重组）
+ * @packageName: com.yisan.library.compose
+ */
+@Stable
+class GestureLockState internal constructor(
+    /**
+     * 缩放模式（与GestureLockView的animation_scale_mode一致：0正常缩放，1反转缩放）
+     */
+    private val animationScaleMode: Int,
+    private val animationScaleRate: Float,
+    private val animationDuration: Int,
+    /**
+     * 点布局（与GestureLockView的点布局一致，默认3×3网格）
+     */
+    private val pointLayout: PointLayout
+) {
+
+    private val mPoints = PointArray(pointLayout.pointCount)
+    private val mRecognizer = GestureRecognizer(mPoints, pointLayout.middleCells) { cell -> handlePointPressed(cell) }
+    /**
+     * 各点的缩放比例（Animatable的值是快照状态，只在绘制阶段读取）
+     */
+    private val mScales = Array(pointLayout.pointCount) { Animatable(1F) }
+    /**
+     * 绘制上下文（本状态对应视图的画笔与绘制缓存，绘制者本身可在多个GestureLock间共享）
+     */
+    internal val painterContext = PainterContext()
+    internal var animationScope: CoroutineScope? = null
+    internal var onPointPressed: ((Int) -> Unit)? = null
+    internal var onPressStatusChanged: (() -> Unit)? = null
+
+    /**
+     * 绘制失效信号（触摸位置或点状态变化时递增，仅由绘制阶段读取）
+     */
+    internal var drawVersion by mutableStateOf(0)
+        private set
+    internal var eventX = 0F
+        private set
+    internal var eventY = 0F
+        private set
+
+    /**
+     * 最近一次完成的数字密码（解锁完成时更新，未完成或已清除时为空串）
+     *
+     * String不可清零且会被快照系统保留旧值，不适用于安全模式；需要安全模式时使用GestureLockView的OnSecureGestureLockListener
+     */
+    var password by mutableStateOf("")
+        private set
+
+    /**
+     * 是否处于出错状态
+     */
+    var isErrorStatus by mutableStateOf(false)
+        private set
+
+    /**
+     * 点集合（只读）
+     */
+    val points: PointTable
+        get() = mPoints
+
+    /**
+     * 布局：根据视图尺寸更新点的位置、半径与有效触摸半径
+     */
+    internal fun layout(viewSize: Float, radiusRatio: Float) {
+        val radius = pointLayout.layout(viewSize, radiusRatio, mPoints)
+        mRecognizer.setHitRadius(radius)
+        painterContext.setRadius(radius)
+        moveEventToLastPressPoint()
+        invalidate()
+    }
+
+    /**
+     * 同步动画半径至点集合（在绘制阶段调用，读取缩放比例的快照状态）
+     */
+    internal fun syncRadius(): PointTable {
+        for (cell in 0 until mPoints.size()) {
+            mPoints.setRadius(cell, mPoints.getBaseRadius(cell) * mScales[cell].value)
+        }
+        return mPoints
+    }
+
+    internal fun down(x: Float, y: Float) {
+        clear()
+        move(x, y)
+    }
+
+    internal fun move(x: Float, y: Float) {
+        eventX = x
+        eventY = y
+        mRecognizer.touch(x, y)
+        invalidate()
+    }
+
+    /**
+     * 手指抬起
+     *
+     * @return 数字密码，未按下任何点时返回null
+     */
+    internal fun up(): String? {
+        moveEventToLastPressPoint()
+        invalidate()
+        if (mPoints.pressCount == 0) {
+            return null
+        }
+        val builder = StringBuilder(mPoints.pressCount)
+        for (order in 0 until mPoints.pressCount) {
+            builder.append('0' + mPoints.getPressCell(order))
+        }
+        password = builder.toString()
+        return password
+    }
+
+    /**
+     * 显示出错状态
+     */
+    fun showErrorStatus() {
+        mPoints.setPressStatus(PointArray.POINT_ERROR_STATUS)
+        isErrorStatus = true
+        onPressStatusChanged?.invoke()
+        invalidate()
+    }
+
+    /**
+     * 清除手势
+     */
+    fun clear() {
+        mPoints.reset()
+        password = ""
+        isErrorStatus = false
+        invalidate()
+    }
+
+    private fun handlePointPressed(cell: Int) {
+        startAnimation(cell)
+        onPointPressed?.invoke(cell)
+    }
+
+    private fun startAnimation(cell: Int) {
+        val scope = animationScope ?: return
+        val scale = mScales[cell]
+        scope.launch {
+            if (animationScaleMode == 1) {
+                // 反转缩放：1 -> rate -> 1
+                scale.snapTo(1F)
+                scale.animateTo(1F, keyframes {
+                    durationMillis = animationDuration
+                    animationScaleRate at animationDuration / 2
+                })
+            } else {
+                // 正常缩放：rate -> 1
+                scale.snapTo(animationScaleRate)
+                scale.animateTo(1F, tween(animationDuration))
+            }
+        }
+    }
+
+    /**
+     * 把触摸位置移到最后一个按下的点，避免抬起后仍绘制跟随手指的连线
+     */
+    private fun moveEventToLastPressPoint() {
+        if (mPoints.pressCount > 0) {
+            val lastCell = mPoints.getPressCell(mPoints.pressCount - 1)
+            eventX = mPoints.getX(lastCell)
+            eventY = mPoints.getY(lastCell)
+        }
+    }
+
+    internal fun invalidate() {
+        drawVersion++
+    }
+}
@@ -0,0 +1,16 @@
+package com.yisan.library.server;
+
+/**
+ * @description: 凭据存储（由服务端实现，可阻塞读取数据库等外部存储；批量校验时在虚拟线程上调用，需线程安全）
+ * @packageName: com.yisan.library.server
+ */
+public interface CredentialStore {
+
+    /**
+     * 查找账号的手势凭据
+     *
+     * @param accountId 账号
+     * @return 凭据，账号不存在或未设置手势时返回null
+     */
+    StoredCredential find(String accountId);
+}
@@ -0,0 +1,33 @@
+package com.yisan.library.server;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @description: 内存凭据存储（用于测试与吞吐量基准）
+ * @packageName: com.yisan.library.server
+ */
+public final class InMemoryCredentialStore implements CredentialStore {
+
+    private final Map<String, StoredCredential> mCredentials = new ConcurrentHashMap<>();
+
+    /**
+     * 保存账号的手势凭据（已存在时覆盖）
+     */
+    public void put(String accountId, StoredCredential credential) {
+        mCredentials.put(accountId, credential);
+    }
+
+    public void remove(String accountId) {
+        mCredentials.remove(accountId);
+    }
+
+    public int size() {
+        return mCredentials.size();
+    }
+
+    @Override
+    public StoredCredential find(String accountId) {
+        return mCredentials.get(accountId);
+    }
+}
@@ -0,0 +1,206 @@
+package com.yisan.library.server;
+
+import com.yisan.library.pattern.PatternRules;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**
+ * @description: 手势图案批量校验服务（按GestureLockView的识别规则校验图案，再与加盐哈希比对；批量校验时每个请求一个虚拟线程，同时计算的哈希数量有上限）
+ * @packageName: com.yisan.library.server
+ */
+public final class PatternVerificationService {
+
+    /**
+     * 校验结果
+     */
+    public enum Outcome {
+        /**
+         * 图案与凭据一致
+         */
+        MATCH,
+        /**
+         * 图案与凭据不一致
+         */
+        MISMATCH,
+        /**
+         * 图案不符合识别规则（不会计算哈希）
+         */
+        INVALID_PATTERN,
+        /**
+         * 账号不存在或未设置手势
+         */
+        UNKNOWN_ACCOUNT
+    }
+
+    /**
+     * 校验请求
+     */
+    public static final class Request {
+
+        final String accountId;
+        final CharSequence password;
+
+        /**
+         * @param accountId 账号
+         * @param password  提交的图案（GestureLockView的密码形式）
+         */
+        public Request(String accountId, CharSequence password) {
+            this.accountId = accountId;
+            this.password = password;
+        }
+    }
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_LENGTH = 16;
+    private static final int HASH_BITS = 256;
+
+    private final PatternRules mRules;
+    private final CredentialStore mStore;
+    private final int mIterations;
+    /**
+     * 哈希计算许可（虚拟线程数量不受限，哈希计算占用的内存与CPU由许可数量限制）
+     */
+    private final Semaphore mHashPermits;
+    private final SecureRandom mRandom = new SecureRandom();
+    /**
+     * 账号不存在时同样计算一次哈希（避免通过耗时判断账号是否存在）：固定盐值 & 迭代次数
+     * <p>
+     * 迭代次数取最近一次查到的已保存凭据的迭代次数，与已存在账号的耗时分布一致（已保存凭据可能使用与新建凭据不同的迭代次数）
+     */
+    private final byte[] mDummySalt = new byte[SALT_LENGTH];
+    private volatile int mDummyIterations;
+
+    /**
+     * 默认规则，哈希并发数为CPU核数
+     *
+     * @param store      凭据存储
+     * @param iterations 新建凭据的PBKDF2迭代次数
+     */
+    public PatternVerificationService(CredentialStore store, int iterations) {
+        this(PatternRules.defaultRules(), store, iterations, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param rules               手势图案识别规则（需与客户端GestureLockView一致）
+     * @param store               凭据存储
+     * @param iterations          新建凭据的PBKDF2迭代次数
+     * @param maxConcurrentHashes 同时计算的最大哈希数量
+     */
+    public PatternVerificationService(PatternRules rules, CredentialStore store, int iterations, int maxConcurrentHashes) {
+        if (maxConcurrentHashes < 1) {
+            throw new IllegalArgumentException("maxConcurrentHashes must be positive: " + maxConcurrentHashes);
+        }
+        mRules = rules;
+        mStore = store;
+        mIterations = iterations;
+        mHashPermits = new Semaphore(maxConcurrentHashes);
+        mDummyIterations = iterations;
+    }
+
+    /**
+     * 判断图案是否符合识别规则（点数、点不重复、跨过的中间点已被按下）
+     */
+    public boolean isValidPattern(CharSequence password) {
+        return mRules.isValid(password);
+    }
+
+    /**
+     * 为图案创建加盐凭据
+     *
+     * @param password 图案（GestureLockView的密码形式）
+     * @throws IllegalArgumentException 图案不符合识别规则
+     */
+    public StoredCredential enroll(CharSequence password) throws InterruptedException {
+        if (!mRules.isValid(password)) {
+            throw new IllegalArgumentException("invalid pattern");
+        }
+        byte[] salt = new byte[SALT_LENGTH];
+        mRandom.nextBytes(salt);
+        return new StoredCredential(salt, hash(password, salt, mIterations), mIterations);
+    }
+
+    /**
+     * 校验单个请求（在调用线程上执行）
+     */
+    public Outcome verify(String accountId, CharSequence password) throws InterruptedException {
+        // 1.不符合识别规则的图案直接拒绝，不计算哈希
+        if (!mRules.isValid(password)) {
+            return Outcome.INVALID_PATTERN;
+        }
+        // 2.计算哈希并以固定耗时比对
+        StoredCredential credential = mStore.find(accountId);
+        if (credential == null) {
+            hash(password, mDummySalt, mDummyIterations);
+            return Outcome.UNKNOWN_ACCOUNT;
+        }
+        mDummyIterations = credential.getIterations();
+        byte[] hash = hash(password, credential.salt(), credential.getIterations());
+        return MessageDigest.isEqual(hash, credential.hash()) ? Outcome.MATCH : Outcome.MISMATCH;
+    }
+
+    /**
+     * 批量校验（每个请求一个虚拟线程，全部完成后返回）
+     *
+     * @param requests 校验请求
+     * @return 与请求顺序一致的校验结果
+     * @throws ExecutionException 凭据存储读取失败
+     */
+    public Outcome[] verifyAll(List<Request> requests) throws InterruptedException, ExecutionException {
+        List<Future<Outcome>> futures = new ArrayList<>(requests.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Request request : requests) {
+                futures.add(executor.submit(() -> verify(request.accountId, request.password)));
+            }
+            Outcome[] outcomes = new Outcome[futures.size()];
+            try {
+                for (int i = 0; i < outcomes.length; i++) {
+                    outcomes[i] = futures.get(i).get();
+                }
+            } catch (InterruptedException | ExecutionException e) {
+                // 中断其余请求（关闭线程池时会等待所有虚拟线程结束）
+                for (Future<Outcome> future : futures) {
+                    future.cancel(true);
+                }
+                throw e;
+            }
+            return outcomes;
+        }
+    }
+
+    /**
+     * 计算加盐哈希（持有许可期间才分配密钥材料）
+     */
+    private byte[] hash(CharSequence password, byte[] salt, int iterations) throws InterruptedException {
+        mHashPermits.acquire();
+        char[] chars = new char[password.length()];
+        PBEKeySpec spec = null;
+        try {
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = password.charAt(i);
+            }
+            spec = new PBEKeySpec(chars, salt, iterations, HASH_BITS);
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " unavailable", e);
+        } finally {
+            if (spec != null) {
+                spec.clearPassword();
+            }
+            Arrays.fill(chars, '\0');
+            mHashPermits.release();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.yisan.library.server;
+
+/**
+ * @description: 已保存的手势凭据（盐值 + 加盐哈希 + 迭代次数，不保存图案本身）
+ * @packageName: com.yisan.library.server
+ */
+public final class StoredCredential {
+
+    private final byte[] mSalt;
+    private final byte[] mHash;
+    private final int mIterations;
+
+    /**
+     * @param salt       盐值
+     * @param hash       加盐哈希
+     * @param iterations PBKDF2迭代次数
+     */
+    public StoredCredential(byte[] salt, byte[] hash, int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("iterations must be positive: " + iterations);
+        }
+        mSalt = salt.clone();
+        mHash = hash.clone();
+        mIterations = iterations;
+    }
+
+    public byte[] getSalt() {
+        return mSalt.clone();
+    }
+
+    public byte[] getHash() {
+        return mHash.clone();
+    }
+
+    public int getIterations() {
+        return mIterations;
+    }
+
+    /**
+     * 内部读取（不复制，调用方不可修改）
+     */
+    byte[] salt() {
+        return mSalt;
+    }
+
+    byte[] hash() {
+        return mHash;
+    }
+}
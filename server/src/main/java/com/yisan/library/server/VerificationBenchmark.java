@@ -0,0 +1,106 @@
+package com.yisan.library.server;
+
+import com.yisan.library.pattern.PatternCodec;
+import com.yisan.library.pattern.PatternRules;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * @description: 批量校验吞吐量基准（内存凭据存储，请求混合正确、错误、不合法图案及不存在的账号，并核对校验结果）
+ * @packageName: com.yisan.library.server
+ */
+public final class VerificationBenchmark {
+
+    private static final int ACCOUNT_COUNT = 1000;
+    private static final int BATCH_SIZE = 2000;
+    private static final int WARMUP_BATCHES = 1;
+    private static final int BATCHES = 3;
+    /**
+     * 基准使用较少的迭代次数，避免运行时间过长（生产环境应使用更大的值）
+     */
+    private static final int ITERATIONS = 10000;
+
+    public static void main(String[] args) throws Exception {
+        int maxConcurrentHashes = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        PatternRules rules = PatternRules.defaultRules();
+        PatternCodec codec = new PatternCodec(rules);
+        InMemoryCredentialStore store = new InMemoryCredentialStore();
+        PatternVerificationService service = new PatternVerificationService(rules, store, ITERATIONS, maxConcurrentHashes);
+        Random random = new Random(42);
+        // 1.为每个账号随机生成合法图案并保存凭据
+        String[] passwords = new String[ACCOUNT_COUNT];
+        int[] cells = new int[rules.getCellCount()];
+        for (int i = 0; i < ACCOUNT_COUNT; i++) {
+            passwords[i] = randomPassword(codec, random, cells);
+            store.put(accountId(i), service.enroll(passwords[i]));
+        }
+        // 2.生成请求：正确、错误、不合法图案、不存在的账号各占1/4
+        List<PatternVerificationService.Request> requests = new ArrayList<>(BATCH_SIZE);
+        PatternVerificationService.Outcome[] expected = new PatternVerificationService.Outcome[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            int account = random.nextInt(ACCOUNT_COUNT);
+            switch (i % 4) {
+                case 0:
+                    requests.add(new PatternVerificationService.Request(accountId(account), passwords[account]));
+                    expected[i] = PatternVerificationService.Outcome.MATCH;
+                    break;
+                case 1:
+                    String wrong = randomPassword(codec, random, cells);
+                    requests.add(new PatternVerificationService.Request(accountId(account), wrong));
+                    expected[i] = wrong.equals(passwords[account])
+                            ? PatternVerificationService.Outcome.MATCH : PatternVerificationService.Outcome.MISMATCH;
+                    break;
+                case 2:
+                    // 0 -> 2跨过了未按下的中间点1
+                    requests.add(new PatternVerificationService.Request(accountId(account), "0258"));
+                    expected[i] = PatternVerificationService.Outcome.INVALID_PATTERN;
+                    break;
+                default:
+                    requests.add(new PatternVerificationService.Request("unknown-" + i, passwords[account]));
+                    expected[i] = PatternVerificationService.Outcome.UNKNOWN_ACCOUNT;
+                    break;
+            }
+        }
+        // 3.预热后统计
+        for (int i = 0; i < WARMUP_BATCHES; i++) {
+            check(service.verifyAll(requests), expected);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < BATCHES; i++) {
+            check(service.verifyAll(requests), expected);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println(String.format(Locale.US,
+                "accounts=%d batch=%d iterations=%d maxConcurrentHashes=%d: %.0f verifications/s, %.3f s/batch",
+                ACCOUNT_COUNT, BATCH_SIZE, ITERATIONS, maxConcurrentHashes,
+                BATCHES * BATCH_SIZE / seconds, seconds / BATCHES));
+    }
+
+    private static String accountId(int index) {
+        return "account-" + index;
+    }
+
+    /**
+     * 按编码值均匀随机生成合法图案
+     */
+    private static String randomPassword(PatternCodec codec, Random random, int[] cells) {
+        long rank = (long) (random.nextDouble() * codec.getPatternCount());
+        int length = codec.unrank(rank, cells);
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('0' + cells[i]));
+        }
+        return builder.toString();
+    }
+
+    private static void check(PatternVerificationService.Outcome[] outcomes, PatternVerificationService.Outcome[] expected) {
+        for (int i = 0; i < expected.length; i++) {
+            if (outcomes[i] != expected[i]) {
+                throw new AssertionError("request " + i + ": expected " + expected[i] + " but was " + outcomes[i]);
+            }
+        }
+    }
+}
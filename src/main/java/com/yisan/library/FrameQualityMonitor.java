@@ -0,0 +1,137 @@
+package com.yisan.library;
+
+import android.app.Activity;
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Display;
+import android.view.FrameMetrics;
+import android.view.View;
+import android.view.Window;
+
+import androidx.annotation.RequiresApi;
+
+/**
+ * @description: 帧耗时监视器（通过宿主窗口的FrameMetrics统计手势拖动期间超出帧期限的帧数，用于自适应降低绘制质量）
+ * @packageName: com.yisan.library
+ */
+@RequiresApi(Build.VERSION_CODES.N)
+final class FrameQualityMonitor implements Window.OnFrameMetricsAvailableListener {
+
+    /**
+     * 一次手势内超时帧数达到该值时视为设备跟不上
+     */
+    private static final int MISSED_FRAME_THRESHOLD = 3;
+    /**
+     * FrameMetrics.DEADLINE（API 31新增，编译SDK中没有该常量）
+     */
+    private static final int METRIC_DEADLINE = 13;
+    private static final int VERSION_CODE_S = 31;
+
+    /**
+     * 回调在主线程执行（回调只做计数，与触摸事件处理在同一线程，无需同步）
+     */
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
+    private Window mWindow;
+    /**
+     * 帧间隔（纳秒，按屏幕刷新率计算）
+     */
+    private long mFrameIntervalNanos;
+    /**
+     * 本次手势内超时的帧数 & 是否正在拖动（只统计拖动期间的帧）
+     */
+    private int mMissedFrames;
+    private boolean isDragging;
+
+    /**
+     * 开始监视视图所在窗口
+     *
+     * @return 是否找到宿主窗口
+     */
+    boolean start(View view) {
+        stop();
+        Window window = findWindow(view.getContext());
+        if (window == null) {
+            return false;
+        }
+        Display display = view.getDisplay();
+        float refreshRate = display != null ? display.getRefreshRate() : 60.0F;
+        mFrameIntervalNanos = (long) (1000000000L / (refreshRate > 0 ? refreshRate : 60.0F));
+        window.addOnFrameMetricsAvailableListener(this, mHandler);
+        mWindow = window;
+        return true;
+    }
+
+    /**
+     * 停止监视
+     */
+    void stop() {
+        if (mWindow != null) {
+            mWindow.removeOnFrameMetricsAvailableListener(this);
+            mWindow = null;
+        }
+        mMissedFrames = 0;
+        isDragging = false;
+    }
+
+    /**
+     * 手势开始，重新开始计数（每次ACTION_DOWN时调用）
+     */
+    void startGesture() {
+        mMissedFrames = 0;
+        isDragging = true;
+    }
+
+    /**
+     * 手势结束，此后的帧不再计数（ACTION_UP/ACTION_CANCEL时调用）
+     */
+    void endGesture() {
+        isDragging = false;
+    }
+
+    /**
+     * 本次手势内是否频繁超出帧间隔
+     */
+    boolean isMissingDeadline() {
+        return mMissedFrames >= MISSED_FRAME_THRESHOLD;
+    }
+
+    /**
+     * 统计超时帧：各阶段耗时之和超过帧期限（API 31起为该帧的DEADLINE，更早按刷新率计算的帧间隔）
+     * <p>
+     * 不使用TOTAL_DURATION（包含输入与垂直同步等待的延迟，并非渲染耗时），也不按dropCount计数（丢弃的是未上报的统计，不代表超时）
+     */
+    @Override
+    public void onFrameMetricsAvailable(Window window, FrameMetrics frameMetrics, int dropCountSinceLastInvocation) {
+        if (!isDragging) {
+            return;
+        }
+        long work = frameMetrics.getMetric(FrameMetrics.INPUT_HANDLING_DURATION)
+                + frameMetrics.getMetric(FrameMetrics.ANIMATION_DURATION)
+                + frameMetrics.getMetric(FrameMetrics.LAYOUT_MEASURE_DURATION)
+                + frameMetrics.getMetric(FrameMetrics.DRAW_DURATION)
+                + frameMetrics.getMetric(FrameMetrics.SYNC_DURATION)
+                + frameMetrics.getMetric(FrameMetrics.COMMAND_ISSUE_DURATION)
+                + frameMetrics.getMetric(FrameMetrics.SWAP_BUFFERS_DURATION);
+        long deadline = Build.VERSION.SDK_INT >= VERSION_CODE_S
+                ? frameMetrics.getMetric(METRIC_DEADLINE) : mFrameIntervalNanos;
+        if (work > (deadline > 0 ? deadline : mFrameIntervalNanos)) {
+            mMissedFrames++;
+        }
+    }
+
+    /**
+     * 查找上下文所属Activity的窗口
+     */
+    private static Window findWindow(Context context) {
+        while (context instanceof ContextWrapper) {
+            if (context instanceof Activity) {
+                return ((Activity) context).getWindow();
+            }
+            context = ((ContextWrapper) context).getBaseContext();
+        }
+        return null;
+    }
+}
@@ -1,11 +1,21 @@
 package com.yisan.library;
 
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
 import android.animation.ValueAnimator;
 import android.content.Context;
 import android.content.res.TypedArray;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.PathMeasure;
+import android.graphics.Picture;
+import android.os.AsyncTask;
+import android.os.Build;
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.os.SystemClock;
 import android.os.Vibrator;
 import android.util.AttributeSet;
 import android.view.MotionEvent;
@@ -13,16 +23,35 @@ import android.view.View;
 
 import androidx.annotation.IntDef;
 import androidx.annotation.Nullable;
+import androidx.annotation.RawRes;
+import androidx.core.graphics.ColorUtils;
 
+import com.yisan.library.effect.ClickSound;
+import com.yisan.library.effect.FingerTrail;
+import com.yisan.library.layout.CircularPointLayout;
+import com.yisan.library.layout.GridPointLayout;
+import com.yisan.library.layout.HexagonalPointLayout;
+import com.yisan.library.layout.PointLayout;
 import com.yisan.library.listener.OnGestureLockListener;
-import com.yisan.library.model.Point;
+import com.yisan.library.listener.OnSecureGestureLockListener;
+import com.yisan.library.mirror.GestureStreamEncoder;
+import com.yisan.library.mirror.GestureStreamListener;
+import com.yisan.library.model.PointArray;
+import com.yisan.library.model.PointTable;
+import com.yisan.library.model.SecurePattern;
+import com.yisan.library.painter.AliPayPainter;
+import com.yisan.library.painter.GestureLockPainter;
+import com.yisan.library.painter.JDFinancePainter;
+import com.yisan.library.painter.LUcomPainter;
 import com.yisan.library.painter.Painter;
+import com.yisan.library.painter.PainterContext;
 import com.yisan.library.painter.System360Painter;
 import com.yisan.library.util.DimensionUtil;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -47,6 +76,30 @@ public class GestureLockView extends View {
     public static final int NORMAL = 0x0000; // 正常缩放
     public static final int REVERSE = 0x0001; // 反转缩放
 
+    /**
+     * 连线宽度模式(注解)
+     */
+    @IntDef({LINE_WIDTH_FIXED, LINE_WIDTH_PRESSURE, LINE_WIDTH_SPEED})
+    @Retention(RetentionPolicy.SOURCE)
+    public @interface LineWidthMode {
+    }
+
+    public static final int LINE_WIDTH_FIXED = 0x0000; // 固定宽度
+    public static final int LINE_WIDTH_PRESSURE = 0x0001; // 随触摸压力变化
+    public static final int LINE_WIDTH_SPEED = 0x0002; // 随滑动速度变化（越快越细）
+
+    /**
+     * 可变宽度连线相对线宽的最小 & 最大比例，及每个采样向目标宽度靠近的比例（平滑抖动）
+     */
+    private static final float MIN_WIDTH_SCALE = 0.5F;
+    private static final float MAX_WIDTH_SCALE = 2.0F;
+    private static final float WIDTH_SMOOTHING = 0.3F;
+
+    /**
+     * 无效的手指ID（MotionEvent.INVALID_POINTER_ID需要API 29）
+     */
+    private static final int INVALID_POINTER_ID = -1;
+
     /**
      * 控件的size、控件为正方形
      */
@@ -56,27 +109,40 @@ public class GestureLockView extends View {
      */
     private float mRadiusRatio;
     /**
-     * 点半径（取值范围[0,viewSize的1/6]，通过{@link GestureLockView#mRadiusRatio}属性进行控制）
+     * 点半径（由点布局计算，3*3网格下取值范围[0,viewSize的1/6]，通过{@link GestureLockView#mRadiusRatio}属性进行控制）
      * <p>
      * 注:mRadius代表单位点的可见半径和有效触摸半径，不会随单位点的动画而改变
      */
-    private int mRadius;
+    private float mRadius;
     /**
-     * 点列表容器（用于记录已被按下的点）
+     * 点布局（不设置默认3*3网格）
      */
-    private final List<Point> mPressPoints = new ArrayList<>(9);
+    private PointLayout mPointLayout;
     /**
-     * 点的数组矩阵
+     * 点集合（按点下标存储坐标、半径、状态，并记录已被按下的点；点布局变化时重新创建）
      */
-    private Point[][] mPoints = new Point[3][3];
+    private PointArray mPoints;
+    /**
+     * 手势识别器（按下点及中间点）
+     */
+    private GestureRecognizer mRecognizer;
     /**
      * 正常状态的画笔
      */
     private Paint normalPaint;
+    /**
+     * 内置绘制者（下标即painter属性值；绘制者不保存状态，所有视图共享同一实例）
+     */
+    private static final Painter[] BUILT_IN_PAINTERS = {new System360Painter(), new AliPayPainter(),
+            new JDFinancePainter(), new LUcomPainter(), new GestureLockPainter()};
     /**
      * 绘制者
      */
-    private Painter mPainter = new System360Painter();
+    private Painter mPainter;
+    /**
+     * 绘制上下文（本视图的画笔、连线样式与绘制缓存）
+     */
+    private final PainterContext mPainterContext = new PainterContext();
     /**
      * 正常 & 按下 & 错误等状态下画笔的颜色值
      */
@@ -88,6 +154,15 @@ public class GestureLockView extends View {
      * 线的粗细值（不设置则默认为1dp）
      */
     private int mLineThickness;
+    /**
+     * 连线样式（不设置默认纯色连线）
+     */
+    private int mLineStyle;
+    /**
+     * 按下 & 出错状态渐变连线的颜色（不设置默认从正常状态颜色渐变到按下状态颜色 & 出错状态颜色）
+     */
+    private int[] mPressLineColors;
+    private int[] mErrorLineColors;
 
     /**
      * 记录当前视图是否处于错误状态
@@ -109,17 +184,100 @@ public class GestureLockView extends View {
      */
     private float mAnimationScaleRate;
     /**
-     * 振动器
+     * 振动器（关联窗口时在后台线程获取）
      */
-    private Vibrator mVibrator;
+    private volatile Vibrator mVibrator;
     /**
      * 震动持续时间（不设置默认40毫秒）
      */
     private long mVibrateDuration;
+    /**
+     * 按键音（最多同时播放2个音频流）& 按键音资源（不设置默认0，即不播放）
+     */
+    private final ClickSound mClickSound = new ClickSound(2);
+    @RawRes
+    private int mClickSoundRes;
     /**
      * 动画时长
      */
     private long mAnimationDuration;
+    /**
+     * 错误/成功状态还原时的颜色过渡时长（不设置默认0，即立即还原）& 过渡动画 & 过渡进度（0表示未在过渡）
+     */
+    private long mTransitionFadeDuration;
+    private ValueAnimator mTransitionAnimator;
+    private float mTransitionFraction;
+    /**
+     * 过渡的缓存图层（Android 10及以上且开启硬件加速时使用，否则逐帧混合颜色绘制）
+     */
+    private TransitionLayers mTransitionLayers;
+    /**
+     * 是否使用低延迟触摸输入（不设置默认false）
+     */
+    private boolean isLowLatencyInput;
+    /**
+     * 连线宽度模式（不设置默认固定宽度）
+     */
+    private int mLineWidthMode;
+    /**
+     * 当前连线宽度（平滑后）& 上一个触摸采样的位置与时间（计算滑动速度）
+     */
+    private float mStrokeWidth;
+    private float mLastSampleX;
+    private float mLastSampleY;
+    private long mLastSampleTime;
+    /**
+     * 屏幕密度（构造时读取一次，触摸采样时不再查询）
+     */
+    private final float mDensity;
+    /**
+     * 是否开启自适应绘制质量（不设置默认false）
+     */
+    private boolean isAdaptiveQuality;
+    /**
+     * 帧耗时监视器（开启自适应绘制质量且系统版本不低于Android 7.0时创建）
+     */
+    private FrameQualityMonitor mQualityMonitor;
+    /**
+     * 手指拖尾（保存最近32个触摸采样，300毫秒内淡出；不显示拖尾时为null）
+     */
+    private FingerTrail mFingerTrail;
+    private int mTrailColor;
+    private int mTrailWidth;
+    /**
+     * 演示图案的折线路径 & 路径测量 & 每帧截取的可见部分（开始演示时生成一次，逐帧复用）
+     */
+    private final Path mGhostPath = new Path();
+    private final PathMeasure mGhostMeasure = new PathMeasure();
+    private final Path mGhostSegment = new Path();
+    /**
+     * 演示图案的点下标 & 各点在折线上的累计长度
+     */
+    private int[] mGhostCells;
+    private float[] mGhostCellDistances;
+    private int mGhostCellCount;
+    /**
+     * 演示图案当前绘制到的长度
+     */
+    private float mGhostDistance;
+    private ValueAnimator mGhostAnimator;
+    /**
+     * 是否正在演示图案
+     */
+    private boolean isGhostPlaying;
+    /**
+     * 是否已请求重绘且尚未执行onDraw（保证每帧最多请求一次重绘）
+     */
+    private boolean isRedrawPending;
+    /**
+     * 手势事件流监听器（如编码器，用于镜像手势输入）
+     */
+    private GestureStreamListener mStreamListener;
+    /**
+     * 镜像监听器（按事件流还原图案）& 是否只读（不响应触摸）
+     */
+    private GestureStreamListener mMirrorListener;
+    private boolean isReadOnly;
 
     public GestureLockView(Context context) {
         this(context, null);
@@ -131,13 +289,71 @@ public class GestureLockView extends View {
 
     public GestureLockView(Context context, @Nullable AttributeSet attrs, int defStyleAttr) {
         super(context, attrs, defStyleAttr);
+        mDensity = getResources().getDisplayMetrics().density;
         initAttrs(context, attrs);
+        createPoints();
+        // 画笔及绘制者只创建一次，尺寸变化时仅原地更新坐标与半径
+        initPaint();
+        initPainter();
+    }
+
+    /**
+     * 按点布局的点数量创建点集合、手势识别器及演示图案缓冲区
+     */
+    private void createPoints() {
+        int count = mPointLayout.getPointCount();
+        mPoints = new PointArray(count);
+        mRecognizer = new GestureRecognizer(mPoints, mPointLayout.getMiddleCells(), new GestureRecognizer.OnPointPressListener() {
+            @Override
+            public void onPointPressed(int cell) {
+                addPressPoint(cell);
+            }
+        });
+        mGhostCells = new int[count];
+        mGhostCellDistances = new float[count];
+    }
+
+    /**
+     * 根据XML属性值创建内置点布局
+     *
+     * @param type point_layout属性值
+     */
+    private static PointLayout createPointLayout(int type) {
+        switch (type) {
+            case 1:
+                return new CircularPointLayout(8, true);
+            case 2:
+                return new HexagonalPointLayout(1);
+            default:
+                return new GridPointLayout();
+        }
     }
 
     private void initPainter() {
-        // 使Painter关联当前手势解锁视图
-        mPainter.attach(this, getContext(),
-                mNormalColor, mPressColor, mErrorColor);
+        // 设置绘制上下文的画笔颜色与连线样式
+        mPainterContext.setColors(mNormalColor, mPressColor, mErrorColor);
+        mPainterContext.setLineStyle(mLineStyle);
+        mPainterContext.setLineGradientColors(mPressLineColors, mErrorLineColors);
+        mPainterContext.setVariableWidth(mLineWidthMode != LINE_WIDTH_FIXED, mLineThickness);
+        preparePainter(mPainter);
+    }
+
+    /**
+     * 预热绘制者（构建当前图案所需的缓存）
+     *
+     * @param painter 绘制者
+     */
+    private void preparePainter(Painter painter) {
+        painter.prepare(mPainterContext, mPoints);
+    }
+
+    /**
+     * 根据XML属性值获取内置绘制者
+     *
+     * @param type painter属性值
+     */
+    private static Painter createPainter(int type) {
+        return type >= 0 && type < BUILT_IN_PAINTERS.length ? BUILT_IN_PAINTERS[type] : BUILT_IN_PAINTERS[0];
     }
 
     /**
@@ -149,45 +365,58 @@ public class GestureLockView extends View {
     private void initAttrs(Context context, AttributeSet attrs) {
         // 1.初始化XML属性
         TypedArray array = context.obtainStyledAttributes(attrs, R.styleable.GestureLockView);
+        mPainter = createPainter(array.getInt(R.styleable.GestureLockView_painter, 0));
+        mPointLayout = createPointLayout(array.getInt(R.styleable.GestureLockView_point_layout, 0));
         mRadiusRatio = array.getFloat(R.styleable.GestureLockView_radius_ratio, 0.6F);
         mLineThickness = array.getDimensionPixelSize(R.styleable.GestureLockView_line_thickness, DimensionUtil.dp2px(context, 1));
         mNormalColor = array.getColor(R.styleable.GestureLockView_normal_color, Painter.NORMAL_COLOR);
         mPressColor = array.getColor(R.styleable.GestureLockView_press_color, Painter.PRESS_COLOR);
         mErrorColor = array.getColor(R.styleable.GestureLockView_error_color, Painter.ERROR_COLOR);
+        mLineStyle = array.getInt(R.styleable.GestureLockView_line_style, Painter.LINE_STYLE_SOLID);
+        mPressLineColors = new int[]{
+                array.getColor(R.styleable.GestureLockView_line_start_color, mNormalColor),
+                array.getColor(R.styleable.GestureLockView_line_end_color, mPressColor)};
+        mErrorLineColors = new int[]{mErrorColor, mErrorColor};
         mAnimationDuration = array.getInt(R.styleable.GestureLockView_animation_duration, 200);
         mAnimationScaleMode = array.getInt(R.styleable.GestureLockView_animation_scale_mode, NORMAL);
         mAnimationScaleRate = array.getFloat(R.styleable.GestureLockView_animation_scale_rate, 1.5F);
         mVibrateDuration = array.getInt(R.styleable.GestureLockView_vibrate_duration, 40);
+        mClickSoundRes = array.getResourceId(R.styleable.GestureLockView_click_sound, 0);
+        mClickSound.setVolume(array.getFloat(R.styleable.GestureLockView_click_volume, 1.0F));
+        mTransitionFadeDuration = array.getInt(R.styleable.GestureLockView_transition_fade_duration, 0);
+        isLowLatencyInput = array.getBoolean(R.styleable.GestureLockView_is_low_latency_input, false);
+        mLineWidthMode = array.getInt(R.styleable.GestureLockView_line_width_mode, LINE_WIDTH_FIXED);
+        isAdaptiveQuality = array.getBoolean(R.styleable.GestureLockView_is_adaptive_quality, false);
+        boolean isShowTrail = array.getBoolean(R.styleable.GestureLockView_is_show_trail, false);
+        mTrailColor = array.getColor(R.styleable.GestureLockView_trail_color, mPressColor);
+        mTrailWidth = array.getDimensionPixelSize(R.styleable.GestureLockView_trail_width, DimensionUtil.dp2px(context, 8));
         array.recycle();
         // 2.修正部分参数（防止参数越界）
         mRadiusRatio = (mRadiusRatio < 0) ? 0 : mRadiusRatio > 1 ? 1 : mRadiusRatio;
         mAnimationScaleRate = mAnimationScaleRate < 0 ? 0 : mAnimationScaleRate;
+        // 3.手指拖尾的缓冲区只在显示拖尾时分配
+        if (isShowTrail) {
+            mFingerTrail = createFingerTrail();
+        }
     }
 
 
-    /**
-     * 初始化3*3数组
-     */
-    private void initPointArray() {
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
-                Point point = new Point();
-                point.x = viewSize / 3 / 2 * (j * 2 + 1);
-                point.y = viewSize / 3 / 2 * (i * 2 + 1);
-                point.radius = mRadius;
-                point.status = Point.POINT_NORMAL_STATUS;
-                point.index = i * 3 + j;
-                mPoints[i][j] = point;
-            }
-        }
+    private FingerTrail createFingerTrail() {
+        FingerTrail fingerTrail = new FingerTrail(32, 300);
+        fingerTrail.setColor(mTrailColor);
+        fingerTrail.setWidth(mTrailWidth);
+        return fingerTrail;
     }
 
     /**
-     * 初始化参数
+     * 原地更新点的坐标与半径（尺寸或点布局变化时调用，不重新分配对象，不丢失已按下的点）
      */
-    private void initParams() {
-        //设置点的半径
-        mRadius = (int) (viewSize / 6 * mRadiusRatio);
+    private void updatePointGeometry() {
+        //点布局计算坐标与半径，返回有效触摸半径
+        mRadius = mPointLayout.layout(viewSize, mRadiusRatio, mPoints);
+        //按新坐标重建手势识别器的空间索引
+        mRecognizer.setHitRadius(mRadius);
+        mPainterContext.setRadius(mRadius);
     }
 
     /**
@@ -203,7 +432,7 @@ public class GestureLockView extends View {
     }
 
     private int dp2px(int dp) {
-        return Math.round(getResources().getDisplayMetrics().density * dp);
+        return Math.round(mDensity * dp);
     }
 
     @Override
@@ -219,25 +448,237 @@ public class GestureLockView extends View {
     @Override
     protected void onSizeChanged(int w, int h, int oldw, int oldh) {
         super.onSizeChanged(w, h, oldw, oldh);
-        //初始化参数
-        initParams();
-        //初始化画笔
-        initPaint();
-        //初始化3*3点数组
-        initPointArray();
-        //初始化绘制者
-        initPainter();
+        //结束未执行完的动画（动画的半径区间基于旧尺寸）
+        endPointAnimators();
+        //原地更新点的坐标与半径
+        updatePointGeometry();
+        //连线着色器依赖点坐标，清空后按新坐标重建
+        mPainterContext.clearLineShaders();
+        commitLineSegments();
+        //触摸点到最后按下点的连线同步到新坐标
+        moveEventToLastPressPoint();
+        //演示图案的折线同步到新坐标
+        if (isGhostPlaying) {
+            buildGhostPath();
+        }
+        //布局完成后预热绘制路径
+        removeCallbacks(mPrewarmRunnable);
+        post(mPrewarmRunnable);
+    }
+
+    /**
+     * 预热绘制的示例图案（按下顺序）
+     */
+    private static final int[] PREWARM_CELLS = {0, 1, 4, 8, 5};
+    /**
+     * 预热绘制的示例点集合 & 离屏录制用的Picture（复用，点数量变化时才重新创建示例点集合）
+     */
+    private PointArray mPrewarmPoints;
+    private Picture mPrewarmPicture;
+
+    /**
+     * 预热绘制路径（布局完成后执行）
+     */
+    private final Runnable mPrewarmRunnable = new Runnable() {
+        @Override
+        public void run() {
+            prewarmDrawing();
+        }
+    };
+
+    /**
+     * 预热绘制路径：以示例图案离屏录制按下与出错状态各一帧，提前构建绘制者的缓存，首次触摸时直接走已初始化的绘制路径
+     */
+    private void prewarmDrawing() {
+        if (viewSize <= 0) {
+            return;
+        }
+        // 1.复制当前点坐标，按下示例图案（包含横、竖、斜三种连线；示例点集合只在点数量变化时重新创建）
+        if (mPrewarmPoints == null || mPrewarmPoints.size() != mPoints.size()) {
+            mPrewarmPoints = new PointArray(mPoints.size());
+        }
+        PointArray sample = mPrewarmPoints;
+        for (int cell = 0; cell < mPoints.size(); cell++) {
+            sample.setPosition(cell, mPoints.getX(cell), mPoints.getY(cell));
+            sample.setBaseRadius(cell, mPoints.getBaseRadius(cell));
+        }
+        sample.reset();
+        int lastCell = 0;
+        for (int cell : PREWARM_CELLS) {
+            // 点数量较少的布局跳过不存在的点
+            if (cell < sample.size()) {
+                sample.press(cell, PointArray.POINT_PRESS_STATUS);
+                lastCell = cell;
+            }
+        }
+        // 2.离屏录制按下与出错状态（录制结果直接丢弃，Picture复用）
+        if (mPrewarmPicture == null) {
+            mPrewarmPicture = new Picture();
+        }
+        Picture picture = mPrewarmPicture;
+        Canvas canvas = picture.beginRecording(viewSize, viewSize);
+        for (int i = 0; i < 2; i++) {
+            if (i == 1) {
+                sample.setPressStatus(PointArray.POINT_ERROR_STATUS);
+            }
+            mPainter.prepare(mPainterContext, sample);
+            mPainter.drawPoints(mPainterContext, sample, canvas);
+            mPainter.drawLines(mPainterContext, sample, sample.getX(lastCell), sample.getY(lastCell), mLineThickness, canvas);
+        }
+        picture.endRecording();
+        // 3.还原当前图案的连线着色器
+        commitLineSegments();
+    }
+
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        // 后台获取系统服务，首次按下点时无需在UI线程获取
+        if (mVibrator == null) {
+            final Context context = getContext().getApplicationContext();
+            AsyncTask.THREAD_POOL_EXECUTOR.execute(new Runnable() {
+                @Override
+                public void run() {
+                    mVibrator = (Vibrator) context.getSystemService(Context.VIBRATOR_SERVICE);
+                }
+            });
+        }
+        // 后台预加载按键音
+        if (mClickSoundRes != 0) {
+            mClickSound.load(getContext(), mClickSoundRes);
+        }
+        startQualityMonitor();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        isRedrawPending = false;
+        removeCallbacks(mPrewarmRunnable);
+        cancelTransition();
+        stopGhostPattern();
+        stopQualityMonitor();
+        mClickSound.release();
+    }
+
+    /**
+     * 开始监视帧耗时（需开启自适应绘制质量，FrameMetrics需要Android 7.0及以上）
+     */
+    private void startQualityMonitor() {
+        if (!isAdaptiveQuality || Build.VERSION.SDK_INT < Build.VERSION_CODES.N) {
+            return;
+        }
+        if (mQualityMonitor == null) {
+            mQualityMonitor = new FrameQualityMonitor();
+        }
+        mQualityMonitor.start(this);
     }
 
+    /**
+     * 停止监视帧耗时并恢复完整绘制质量
+     */
+    private void stopQualityMonitor() {
+        if (mQualityMonitor != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+            mQualityMonitor.stop();
+        }
+        mPainterContext.setReducedQuality(false);
+    }
 
     @Override
     protected void onDraw(Canvas canvas) {
+        isRedrawPending = false;
+
+        //绘制手指拖尾（未完全淡出时继续请求下一帧）
+        if (mFingerTrail != null && mFingerTrail.draw(canvas, SystemClock.uptimeMillis())) {
+            requestRedraw();
+        }
+        //还原过渡中：点由按下/错误状态颜色渐变为正常状态颜色，连线淡出（优先合成缓存图层）
+        if (mTransitionFraction > 0) {
+            if (mTransitionLayers == null || !mTransitionLayers.draw(canvas)) {
+                drawTransition(canvas);
+            }
+            return;
+        }
+        drawPattern(canvas);
+    }
+
+    /**
+     * 绘制点与线（演示图案时截取折线的已绘制部分）
+     */
+    private void drawPattern(Canvas canvas) {
+        mPainter.drawPoints(mPainterContext, mPoints, canvas);
+        if (isGhostPlaying) {
+            mGhostSegment.rewind();
+            mGhostMeasure.getSegment(0, mGhostDistance, mGhostSegment, true);
+            mPainter.drawLinePath(mPainterContext, mGhostSegment, PointArray.POINT_PRESS_STATUS, mLineThickness, canvas);
+        } else {
+            mPainter.drawLines(mPainterContext, mPoints, mEventX, mEventY, mLineThickness, canvas);
+        }
+    }
+
+    /**
+     * 录制过渡的起始与结束画面（不支持时返回false，过渡期间逐帧调用{@link #drawTransition}）
+     */
+    private boolean recordTransitionLayers() {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.Q || !isHardwareAccelerated()) {
+            return false;
+        }
+        if (mTransitionLayers == null) {
+            mTransitionLayers = new TransitionLayers();
+        }
+        int width = getWidth();
+        int height = getHeight();
+        // 1.起始画面：当前图案
+        drawPattern(mTransitionLayers.beginFrom(width, height));
+        mTransitionLayers.endFrom();
+        // 2.结束画面：所有点使用正常状态颜色，不含连线（与逐帧过渡的最后一帧一致）
+        Canvas canvas = mTransitionLayers.beginTo(width, height);
+        Paint pressPaint = mPainterContext.getPressPaint();
+        Paint errorPaint = mPainterContext.getErrorPaint();
+        int normalColor = mPainterContext.getNormalPaint().getColor();
+        int pressColor = pressPaint.getColor();
+        int errorColor = errorPaint.getColor();
+        pressPaint.setColor(normalColor);
+        errorPaint.setColor(normalColor);
+        mPainter.drawPoints(mPainterContext, mPoints, canvas);
+        pressPaint.setColor(pressColor);
+        errorPaint.setColor(errorColor);
+        mTransitionLayers.endTo();
+        return true;
+    }
 
-        //绘制点
-        mPainter.drawPoints(mPoints, canvas);
-        //绘制线
-        mPainter.drawLines(mPressPoints, mEventX, mEventY, mLineThickness, canvas);
+    /**
+     * 释放过渡的缓存图层内容
+     */
+    private void discardTransitionLayers() {
+        if (mTransitionLayers != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            mTransitionLayers.discard();
+        }
+    }
 
+    /**
+     * 逐帧绘制还原过渡的一帧（不支持缓存图层时使用；临时修改画笔颜色，绘制后还原，不清空连线缓存）
+     */
+    private void drawTransition(Canvas canvas) {
+        // 1.按过渡进度混合按下/错误状态颜色与正常状态颜色
+        Paint pressPaint = mPainterContext.getPressPaint();
+        Paint errorPaint = mPainterContext.getErrorPaint();
+        int normalColor = mPainterContext.getNormalPaint().getColor();
+        int pressColor = pressPaint.getColor();
+        int errorColor = errorPaint.getColor();
+        pressPaint.setColor(ColorUtils.blendARGB(pressColor, normalColor, mTransitionFraction));
+        errorPaint.setColor(ColorUtils.blendARGB(errorColor, normalColor, mTransitionFraction));
+        mPainter.drawPoints(mPainterContext, mPoints, canvas);
+        pressPaint.setColor(pressColor);
+        errorPaint.setColor(errorColor);
+        // 2.连线整体淡出
+        int alpha = Math.round(255 * (1 - mTransitionFraction));
+        if (alpha > 0) {
+            int count = canvas.saveLayerAlpha(0, 0, getWidth(), getHeight(), alpha);
+            mPainter.drawLines(mPainterContext, mPoints, mEventX, mEventY, mLineThickness, canvas);
+            canvas.restoreToCount(count);
+        }
     }
 
     /**
@@ -245,52 +686,194 @@ public class GestureLockView extends View {
      */
     private float mEventX;
     private float mEventY;
+    /**
+     * 手势绑定的手指ID（ACTION_DOWN时记录，手势结束后为INVALID_POINTER_ID）
+     */
+    private int mActivePointerId = INVALID_POINTER_ID;
 
     @Override
     public boolean onTouchEvent(MotionEvent event) {
-        mEventX = event.getX();
-        mEventY = event.getY();
-        switch (event.getAction()) {
+        if (isReadOnly) {
+            return false;
+        }
+        // 1.手势绑定第一个按下的手指，其他手指（如手掌误触）的事件直接忽略
+        int action = event.getActionMasked();
+        if (action == MotionEvent.ACTION_DOWN) {
+            mActivePointerId = event.getPointerId(0);
+        } else if (mActivePointerId == INVALID_POINTER_ID) {
+            // 手势已结束（绑定的手指已抬起），其余手指的后续事件不再处理
+            return true;
+        }
+        // 每个事件只查找一次绑定手指的下标
+        int pointerIndex = event.findPointerIndex(mActivePointerId);
+        if (pointerIndex < 0 || action == MotionEvent.ACTION_POINTER_DOWN
+                || (action == MotionEvent.ACTION_POINTER_UP && event.getActionIndex() != pointerIndex)) {
+            return true;
+        }
+        mEventX = event.getX(pointerIndex);
+        mEventY = event.getY(pointerIndex);
+        switch (action) {
             case MotionEvent.ACTION_DOWN:
+                // 低延迟模式：关闭按帧批量分发，每个触摸采样立即分发
+                if (isLowLatencyInput) {
+                    requestUnbufferedDispatch(event);
+                }
+                updateStrokeWidth(mEventX, mEventY, event.getPressure(pointerIndex), event.getEventTime(), true);
                 downEventDeal(mEventX, mEventY);
+                if (mFingerTrail != null) {
+                    mFingerTrail.clear();
+                    mFingerTrail.add(mEventX, mEventY, event.getEventTime());
+                }
                 break;
             case MotionEvent.ACTION_MOVE:
+                // 逐个处理批量分发的历史采样，避免快速滑动时漏掉经过的点
+                for (int h = 0; h < event.getHistorySize(); h++) {
+                    float historicalX = event.getHistoricalX(pointerIndex, h);
+                    float historicalY = event.getHistoricalY(pointerIndex, h);
+                    updateStrokeWidth(historicalX, historicalY,
+                            event.getHistoricalPressure(pointerIndex, h), event.getHistoricalEventTime(h), false);
+                    moveEventDeal(historicalX, historicalY);
+                    if (mFingerTrail != null) {
+                        mFingerTrail.add(historicalX, historicalY, event.getHistoricalEventTime(h));
+                    }
+                }
+                updateStrokeWidth(mEventX, mEventY, event.getPressure(pointerIndex), event.getEventTime(), false);
                 moveEventDeal(mEventX, mEventY);
+                if (mFingerTrail != null) {
+                    mFingerTrail.add(mEventX, mEventY, event.getEventTime());
+                }
+                // 自适应绘制质量：拖动过程中频繁超出帧间隔则降低绘制质量
+                if (mQualityMonitor != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.N
+                        && !mPainterContext.isReducedQuality() && mQualityMonitor.isMissingDeadline()) {
+                    mPainterContext.setReducedQuality(true);
+                }
                 break;
+            case MotionEvent.ACTION_POINTER_UP:
+                // 绑定的手指先于其他手指抬起，与ACTION_UP一样结束手势
             case MotionEvent.ACTION_UP:
             case MotionEvent.ACTION_CANCEL:
+                mActivePointerId = INVALID_POINTER_ID;
                 upEventDeal();
                 break;
             default:
                 break;
         }
-        // 2.重绘
-        postInvalidate();
+        // 2.输出本次触摸的事件流（安全模式不输出触摸位置，位置序列同样能还原图案）
+        if (mStreamListener != null && viewSize > 0) {
+            if (mSecureListener == null) {
+                mStreamListener.onTouchMoved(mEventX / viewSize, mEventY / viewSize);
+            }
+            mStreamListener.onFrameEnd();
+        }
+        // 3.重绘
+        requestRedraw();
         return true;
     }
 
+    /**
+     * 根据触摸采样更新连线宽度（压力越大越粗，或滑动越快越细；固定宽度模式下不处理）
+     *
+     * @param x        x坐标
+     * @param y        y坐标
+     * @param pressure 触摸压力
+     * @param time     采样时间
+     * @param isFirst  是否为手势的第一个采样
+     */
+    private void updateStrokeWidth(float x, float y, float pressure, long time, boolean isFirst) {
+        if (mLineWidthMode == LINE_WIDTH_FIXED) {
+            return;
+        }
+        // 1.目标宽度相对线宽的比例
+        float scale;
+        if (mLineWidthMode == LINE_WIDTH_PRESSURE) {
+            scale = 0.5F + pressure;
+        } else {
+            long interval = time - mLastSampleTime;
+            if (!isFirst && interval <= 0) {
+                return;
+            }
+            // 速度单位dp/ms：静止时为最大宽度，1dp/ms时为线宽
+            float speed = isFirst ? 0 : (float) Math.hypot(x - mLastSampleX, y - mLastSampleY)
+                    / interval / mDensity;
+            scale = MAX_WIDTH_SCALE / (1 + speed);
+        }
+        scale = scale < MIN_WIDTH_SCALE ? MIN_WIDTH_SCALE : Math.min(scale, MAX_WIDTH_SCALE);
+        // 2.平滑后更新触摸位置处的宽度
+        float width = mLineThickness * scale;
+        mStrokeWidth = isFirst ? width : mStrokeWidth + (width - mStrokeWidth) * WIDTH_SMOOTHING;
+        mPainterContext.setActiveStrokeWidth(mStrokeWidth);
+        mLastSampleX = x;
+        mLastSampleY = y;
+        mLastSampleTime = time;
+    }
+
+    /**
+     * 请求重绘（UI线程调用，onDraw执行前重复调用将被合并，保证每帧最多重绘一次）
+     */
+    private void requestRedraw() {
+        if (!isRedrawPending) {
+            isRedrawPending = true;
+            postInvalidateOnAnimation();
+        }
+    }
+
     /**
      * ACTION_UP/ACTION_CANCEL事件处理方法
      */
     private void upEventDeal() {
-        // 1.回调手势解锁监听器Complete方法
-        if (mOnGestureLockListener != null) {
+        if (mQualityMonitor != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+            mQualityMonitor.endGesture();
+        }
+        // 1.回调手势解锁监听器Complete方法（安全模式不生成密码字符串）
+        if (mSecureListener != null) {
+            dispatchSecurePattern(true);
+        } else if (mOnGestureLockListener != null) {
             mOnGestureLockListener.onComplete(getPassword());
         }
         // 2.清除触摸点到最后按下单元点的连线
-        if (!mPressPoints.isEmpty()) {
-            mEventX = mPressPoints.get(mPressPoints.size() - 1).x;
-            mEventY = mPressPoints.get(mPressPoints.size() - 1).y;
+        moveEventToLastPressPoint();
+        if (mStreamListener != null) {
+            mStreamListener.onGestureEnded();
         }
         // 3.提前结束未执行完的动画
+        endPointAnimators();
+        // 4.恢复完整绘制质量
+        mPainterContext.setReducedQuality(false);
+        // 5.重绘
+        requestRedraw();
+    }
+
+    /**
+     * 将触摸位置移至最后按下的点（清除触摸点到最后按下点的连线）
+     */
+    private void moveEventToLastPressPoint() {
+        int pressCount = mPoints.getPressCount();
+        if (pressCount > 0) {
+            int lastCell = mPoints.getPressCell(pressCount - 1);
+            mEventX = mPoints.getX(lastCell);
+            mEventY = mPoints.getY(lastCell);
+        }
+    }
+
+    /**
+     * 提交所有已确定的连线段（状态或坐标变化后调用）
+     */
+    private void commitLineSegments() {
+        for (int i = 0; i < mPoints.getPressCount() - 1; i++) {
+            mPainter.commitLineSegment(mPainterContext, mPoints, i);
+        }
+    }
+
+    /**
+     * 提前结束未执行完的点动画
+     */
+    private void endPointAnimators() {
         if (!mPointAnimators.isEmpty()) {
             for (ValueAnimator animator : mPointAnimators) {
                 animator.end();
             }
             mPointAnimators.clear();
         }
-        // 4.重绘
-        postInvalidate();
     }
 
 
@@ -302,7 +885,7 @@ public class GestureLockView extends View {
      */
     private void moveEventDeal(float eventX, float eventY) {
         // 1.修改点状态
-        modifyPointStatus(eventX, eventY);
+        mRecognizer.touch(eventX, eventY);
     }
 
     /**
@@ -316,77 +899,71 @@ public class GestureLockView extends View {
         if (mOnGestureLockListener != null) {
             mOnGestureLockListener.onStarted();
         }
-        //2、清理之前的绘制信息
+        if (mSecureListener != null) {
+            mSecureListener.onStarted();
+        }
+        //2、取消未完成的还原过渡及图案演示，清理之前的绘制信息
+        cancelTransition();
+        stopGhostPattern();
         clear();
+        if (mStreamListener != null) {
+            mStreamListener.onGestureStarted();
+        }
+        if (mQualityMonitor != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+            mQualityMonitor.startGesture();
+        }
         //3、修改点状态
-        modifyPointStatus(mEventX, mEventY);
+        mRecognizer.touch(mEventX, mEventY);
 
         isErrorStatus = false;
     }
 
     /**
      * 获取手势密码（手势图案以数字密码形式返回）
+     * <p>
+     * 每个点对应一个字符'0' + 点下标，点数量不超过10个时即为数字密码
      */
     private String getPassword() {
-        StringBuilder builder = new StringBuilder();
-        for (Point pressPoint : mPressPoints) {
-            builder.append(pressPoint.index);
+        int pressCount = mPoints.getPressCount();
+        StringBuilder builder = new StringBuilder(pressCount);
+        for (int i = 0; i < pressCount; i++) {
+            builder.append((char) ('0' + mPoints.getPressCell(i)));
         }
         return builder.toString();
     }
 
 
     /**
-     * 根据触摸事件修改点的状态
-     *
-     * @param x x
-     * @param y y
-     */
-    private void modifyPointStatus(float x, float y) {
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
-                Point point = mPoints[i][j];
-                float dx = Math.abs(x - point.x);
-                float dy = Math.abs(y - point.y);
-                //按下的位置距离点圆心的距离
-                int downRadius = (int) Math.sqrt(dx * dx + dy * dy);
-                if (downRadius < mRadius) {
-                    //按下的点唯一point半径以内
-                    point.status = Point.POINT_PRESS_STATUS;
-                    addPressPoint(point);
-                    return;
-                }
-            }
-        }
-    }
-
-
-    /**
-     * 添加按下的点
+     * 添加按下的点（由手势识别器在点被按下后回调，包括自动补充的中间点）
      *
-     * @param point 点对象
+     * @param cell 点下标
      */
-    private void addPressPoint(Point point) {
-        // 1.判断该点是否之前已添加过
-        if (mPressPoints.contains(point)) {
-            return;
+    private void addPressPoint(int cell) {
+        // 1.记录该点处的连线宽度，提交新的连线段
+        if (mLineWidthMode != LINE_WIDTH_FIXED) {
+            mPainterContext.setStrokeWidth(mPoints.getPressCount() - 1, mStrokeWidth);
         }
-        // 2.如果两点之间还有点没添加,先添加中间点
-        if (!mPressPoints.isEmpty()) {
-            addMiddlePoint(point);
+        if (mPoints.getPressCount() > 1) {
+            mPainter.commitLineSegment(mPainterContext, mPoints, mPoints.getPressCount() - 2);
         }
-        // 3.添加按下的点
-        mPressPoints.add(point);
-        // 4.开启动画
-        startAnimation(point, 300);
-        // 5.开启震动
+        // 2.开启动画
+        startAnimation(cell, 300);
+        // 3.开启震动
         if (mVibrator == null) {
             mVibrator = (Vibrator) getContext().getSystemService(Context.VIBRATOR_SERVICE);
         }
         mVibrator.vibrate(mVibrateDuration);
+        // 4.播放按键音（自动补充的中间点与按下的点合并为一次）
+        mClickSound.play();
+        // 安全模式不输出按下的点（镜像端只能看到手势开始、结束与状态变化）
+        if (mStreamListener != null && mSecureListener == null) {
+            mStreamListener.onPointPressed(cell);
+        }
 
-        // 6.回调手势解锁监听器的onPregress方法
-        if (mOnGestureLockListener != null) {
+        // 5.回调手势解锁监听器的onPregress方法（安全模式不生成密码字符串）
+        if (mSecureListener != null) {
+            dispatchSecurePattern(false);
+        } else if (mOnGestureLockListener != null) {
             mOnGestureLockListener.onProgress(getPassword());
         }
     }
@@ -395,23 +972,24 @@ public class GestureLockView extends View {
     /**
      * 开启动画
      *
-     * @param point    单位点
+     * @param cell     点下标
      * @param duration 持续时长
      */
-    private void startAnimation(final Point point, long duration) {
+    private void startAnimation(final int cell, long duration) {
         ValueAnimator valueAnimator;
+        float radius = mPoints.getBaseRadius(cell);
         // 2.判断动画缩放模式，采用不同策略的属性动画
         if (mAnimationScaleMode == 1) {
-            valueAnimator = ValueAnimator.ofInt(point.radius, (int) (mAnimationScaleRate * point.radius), point.radius);
+            valueAnimator = ValueAnimator.ofFloat(radius, mAnimationScaleRate * radius, radius);
         } else {
-            valueAnimator = ValueAnimator.ofInt((int) (mAnimationScaleRate * point.radius), point.radius);
+            valueAnimator = ValueAnimator.ofFloat(mAnimationScaleRate * radius, radius);
         }
         valueAnimator.setDuration(duration);
         valueAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
             @Override
             public void onAnimationUpdate(ValueAnimator animation) {
-                point.radius = (int) animation.getAnimatedValue();
-                postInvalidate();
+                mPoints.setRadius(cell, (float) animation.getAnimatedValue());
+                requestRedraw();
             }
         });
         valueAnimator.start();
@@ -421,60 +999,139 @@ public class GestureLockView extends View {
 
 
     /**
-     * 添加中间点（判断两点之间是否存在中间点，如果有还没有添加则先行添加进来）
-     *
-     * @param point 点对象
+     * 清理数据至初始状态
      */
-    private void addMiddlePoint(Point point) {
-        Point lastPoint = mPressPoints.get(mPressPoints.size() - 1);
-        // 1.判断两个点是否是同一个点
-        if (lastPoint == point) {
-            return;
-        }
-        // 2.判断两点之间是否存在中间点
-        int middleX = (lastPoint.x + point.x) / 2;
-        int middleY = (lastPoint.y + point.y) / 2;
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
-                Point tempPoint = mPoints[i][j];
-                int dx = Math.abs(tempPoint.x - middleX);
-                int dy = Math.abs(tempPoint.y - middleY);
-                if (Math.sqrt(dx * dx + dy * dy) < mRadius) {
-                    // 3.开启递归调用
-                    tempPoint.status = Point.POINT_PRESS_STATUS;
-                    addPressPoint(tempPoint);
-                    return;
-                }
+    private void clear() {
+        mPoints.reset();
+        // 安全模式：同时清零绘制缓存、手指轨迹与事件流编码缓冲区中残留的图案
+        if (mSecureListener != null) {
+            mPainterContext.wipePatternCaches();
+            if (mFingerTrail != null) {
+                mFingerTrail.clear();
+            }
+            if (mStreamListener instanceof GestureStreamEncoder) {
+                ((GestureStreamEncoder) mStreamListener).wipe();
+            }
+            if (!isGhostPlaying) {
+                Arrays.fill(mGhostCells, 0);
+                Arrays.fill(mGhostCellDistances, 0);
+                mGhostCellCount = 0;
+                mGhostPath.rewind();
             }
         }
     }
 
 
-    /**
-     * 清理数据至初始状态
-     */
-    private void clear() {
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
-                mPoints[i][j].status = Point.POINT_NORMAL_STATUS;
-                mPoints[i][j].radius = mRadius;
-            }
+    //---------------------------------------状态保存 --------------------------------------------
+
+    @Override
+    protected Parcelable onSaveInstanceState() {
+        SavedState state = new SavedState(super.onSaveInstanceState());
+        // 安全模式不把图案写入保存的状态
+        state.pressIndexes = new byte[mSecureListener != null ? 0 : mPoints.getPressCount()];
+        for (int i = 0; i < state.pressIndexes.length; i++) {
+            state.pressIndexes[i] = (byte) mPoints.getPressCell(i);
         }
-        mPressPoints.clear();
+        state.isErrorStatus = isErrorStatus;
+        return state;
     }
 
-
-    //---------------------------------------set --------------------------------------------
+    @Override
+    protected void onRestoreInstanceState(Parcelable state) {
+        if (!(state instanceof SavedState)) {
+            super.onRestoreInstanceState(state);
+            return;
+        }
+        SavedState savedState = (SavedState) state;
+        super.onRestoreInstanceState(savedState.getSuperState());
+        // 1.还原已按下的点（点集合在构造时已创建，坐标在onSizeChanged时更新）
+        clear();
+        if (!isValidSavedPattern(savedState.pressIndexes)) {
+            // 点布局在保存后发生变化等情况，丢弃保存的图案
+            isErrorStatus = false;
+            return;
+        }
+        byte status = savedState.isErrorStatus ? PointArray.POINT_ERROR_STATUS : PointArray.POINT_PRESS_STATUS;
+        for (byte cell : savedState.pressIndexes) {
+            mPoints.press(cell & 0xFF, status);
+        }
+        // 2.还原错误状态
+        isErrorStatus = savedState.isErrorStatus;
+        commitLineSegments();
+        moveEventToLastPressPoint();
+        postInvalidate();
+    }
 
     /**
-     * 显示错误状态 (当没有按下的点时，使用该方法无效的)
+     * 校验保存的图案（每个点下标都在当前点集合范围内且不重复）
      */
-    public void showErrorStatus() {
-        isErrorStatus = true;
-        for (Point point : mPressPoints) {
-            point.status = Point.POINT_ERROR_STATUS;
+    private boolean isValidSavedPattern(byte[] pressIndexes) {
+        if (pressIndexes == null || pressIndexes.length > mPoints.size()) {
+            return false;
         }
-        postInvalidate();
+        for (int i = 0; i < pressIndexes.length; i++) {
+            int cell = pressIndexes[i] & 0xFF;
+            if (cell >= mPoints.size()) {
+                return false;
+            }
+            for (int j = 0; j < i; j++) {
+                if (pressIndexes[j] == pressIndexes[i]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 视图状态（仅保存按下点的下标与错误状态）
+     */
+    static class SavedState extends BaseSavedState {
+
+        byte[] pressIndexes;
+        boolean isErrorStatus;
+
+        SavedState(Parcelable superState) {
+            super(superState);
+        }
+
+        private SavedState(Parcel in) {
+            super(in);
+            pressIndexes = in.createByteArray();
+            isErrorStatus = in.readInt() != 0;
+        }
+
+        @Override
+        public void writeToParcel(Parcel out, int flags) {
+            super.writeToParcel(out, flags);
+            out.writeByteArray(pressIndexes);
+            out.writeInt(isErrorStatus ? 1 : 0);
+        }
+
+        public static final Parcelable.Creator<SavedState> CREATOR = new Parcelable.Creator<SavedState>() {
+            @Override
+            public SavedState createFromParcel(Parcel in) {
+                return new SavedState(in);
+            }
+
+            @Override
+            public SavedState[] newArray(int size) {
+                return new SavedState[size];
+            }
+        };
+    }
+
+    //---------------------------------------set --------------------------------------------
+
+    /**
+     * 显示错误状态 (当没有按下的点时，使用该方法无效的)
+     */
+    public void showErrorStatus() {
+        isErrorStatus = true;
+        mPoints.setPressStatus(PointArray.POINT_ERROR_STATUS);
+        commitLineSegments();
+        dispatchStatusChanged(PointArray.POINT_ERROR_STATUS);
+        postInvalidate();
     }
 
     /**
@@ -484,27 +1141,126 @@ public class GestureLockView extends View {
      */
     public void showErrorStatus(long millisecond) {
         showErrorStatus();
-        postDelayed(new Runnable() {
-            @Override
-            public void run() {
-                if (isErrorStatus) {
-                    clearView();
-                }
-            }
-        }, millisecond);
+        startResetTransition(millisecond);
+    }
+
+    /**
+     * 显示成功状态（保持当前图案millisecond毫秒后还原至初始状态）
+     *
+     * @param millisecond 持续时间
+     */
+    public void showSuccessStatus(long millisecond) {
+        startResetTransition(millisecond);
     }
 
     /**
      * 清理视图至初始状态
      */
     public void clearView() {
-        post(new Runnable() {
-            @Override
-            public void run() {
-                clear();
-                postInvalidate();
+        removeCallbacks(mClearRunnable);
+        post(mClearRunnable);
+    }
+
+    /**
+     * 清理视图任务（复用同一个Runnable，重复调用不会堆积）
+     */
+    private final Runnable mClearRunnable = new Runnable() {
+        @Override
+        public void run() {
+            cancelTransition();
+            clear();
+            dispatchStatusChanged(PointArray.POINT_NORMAL_STATUS);
+            invalidate();
+        }
+    };
+
+    /**
+     * 还原任务：保持结束后开始颜色过渡（过渡时长为0时直接清理视图）
+     */
+    private final Runnable mResetRunnable = new Runnable() {
+        @Override
+        public void run() {
+            if (mTransitionFadeDuration <= 0) {
+                resetView();
+                return;
             }
-        });
+            // 过渡动画只创建一次
+            if (mTransitionAnimator == null) {
+                mTransitionAnimator = ValueAnimator.ofFloat(0, 1);
+                mTransitionAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+                    @Override
+                    public void onAnimationUpdate(ValueAnimator animation) {
+                        mTransitionFraction = animation.getAnimatedFraction();
+                        // 使用缓存图层时只修改图层透明度，onDraw不再调用绘制者
+                        if (mTransitionLayers != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+                            mTransitionLayers.setFraction(mTransitionFraction);
+                        }
+                        invalidate();
+                    }
+                });
+                mTransitionAnimator.addListener(new AnimatorListenerAdapter() {
+                    @Override
+                    public void onAnimationEnd(Animator animation) {
+                        // 被取消时由cancelTransition负责还原
+                        if (mTransitionFraction > 0) {
+                            resetView();
+                        }
+                    }
+                });
+            }
+            if (!recordTransitionLayers()) {
+                discardTransitionLayers();
+            }
+            mTransitionAnimator.setDuration(mTransitionFadeDuration);
+            mTransitionAnimator.start();
+        }
+    };
+
+    /**
+     * 清理视图至初始状态并结束过渡
+     */
+    private void resetView() {
+        mTransitionFraction = 0;
+        discardTransitionLayers();
+        clear();
+        dispatchStatusChanged(PointArray.POINT_NORMAL_STATUS);
+        invalidate();
+    }
+
+    /**
+     * 开始还原过渡（保持holdMillisecond毫秒 -> 颜色过渡 -> 清理）
+     * <p>
+     * 过渡期间按下/错误状态的点由该状态颜色渐变为正常状态颜色，连线同时淡出，结束时清理视图，前后画面衔接一致；
+     * Android 10及以上开启硬件加速时，起始与结束画面各录制为一个RenderNode，起始图层作为硬件图层叠加在结束图层之上，
+     * 每帧只修改起始图层的透明度，合成由RenderThread完成；否则逐帧混合颜色并绘制
+     *
+     * @param holdMillisecond 保持时间
+     */
+    private void startResetTransition(long holdMillisecond) {
+        cancelTransition();
+        postDelayed(mResetRunnable, holdMillisecond);
+    }
+
+    /**
+     * 取消未完成的还原过渡（保持阶段或颜色过渡阶段）
+     */
+    private void cancelTransition() {
+        removeCallbacks(mResetRunnable);
+        if (mTransitionFraction > 0 || (mTransitionAnimator != null && mTransitionAnimator.isStarted())) {
+            mTransitionFraction = 0;
+            mTransitionAnimator.cancel();
+            discardTransitionLayers();
+            invalidate();
+        }
+    }
+
+    /**
+     * 设置错误/成功状态还原时的颜色过渡时长（对下一次开始的过渡生效，不影响已安排的还原）
+     *
+     * @param millisecond 时长（为0时立即还原）
+     */
+    public void setTransitionFadeDuration(long millisecond) {
+        mTransitionFadeDuration = Math.max(0, millisecond);
     }
 
     /**
@@ -516,10 +1272,570 @@ public class GestureLockView extends View {
         this.mOnGestureLockListener = listener;
     }
 
+    /**
+     * 安全模式解锁监听器 & 提供给监听器的图案只读视图（直接读取点集合的按下顺序，回调结束后失效）
+     */
+    private OnSecureGestureLockListener mSecureListener;
+    private final SecurePatternView mSecurePattern = new SecurePatternView();
+
+    /**
+     * 设置安全模式解锁监听器（不为null时开启安全模式）
+     * <p>
+     * 安全模式下图案只保存在视图复用的基本类型数组中：{@link OnGestureLockListener}仍回调onStarted，但不再回调onProgress/onComplete，
+     * 视图不保存图案到InstanceState，{@link GestureStreamListener}不再收到按下的点与触摸位置，清理时同时清零绘制缓存中残留的图案
+     * <p>
+     * 以下途径不受安全模式保护：{@link #playGhostPattern(String, long)}（密码字符串），
+     * 安全模式开启前已经输出的事件流（以及FrameSink自行复制保存的帧），Compose的GestureLockState.password
+     *
+     * @param listener 安全模式解锁监听器，为null时关闭安全模式
+     */
+    public void setOnSecureGestureLockListener(OnSecureGestureLockListener listener) {
+        mSecureListener = listener;
+    }
+
+    /**
+     * 以只读视图回调当前图案，回调返回后视图失效
+     *
+     * @param isComplete 是否解锁完成
+     */
+    private void dispatchSecurePattern(boolean isComplete) {
+        mSecurePattern.isReadable = true;
+        try {
+            if (isComplete) {
+                mSecureListener.onComplete(mSecurePattern);
+            } else {
+                mSecureListener.onProgress(mSecurePattern);
+            }
+        } finally {
+            mSecurePattern.isReadable = false;
+        }
+    }
+
+    /**
+     * 图案只读视图（读取点集合的按下顺序，不复制）
+     */
+    private final class SecurePatternView implements SecurePattern {
+
+        boolean isReadable;
+
+        @Override
+        public int length() {
+            checkReadable();
+            return mPoints.getPressCount();
+        }
+
+        @Override
+        public int getCell(int index) {
+            checkReadable();
+            if (index < 0 || index >= mPoints.getPressCount()) {
+                throw new IndexOutOfBoundsException("index: " + index);
+            }
+            return mPoints.getPressCell(index);
+        }
+
+        @Override
+        public void copyTo(byte[] dest, int offset) {
+            checkReadable();
+            for (int i = 0; i < mPoints.getPressCount(); i++) {
+                dest[offset + i] = (byte) mPoints.getPressCell(i);
+            }
+        }
+
+        @Override
+        public void copyCharsTo(char[] dest, int offset) {
+            checkReadable();
+            for (int i = 0; i < mPoints.getPressCount(); i++) {
+                dest[offset + i] = (char) ('0' + mPoints.getPressCell(i));
+            }
+        }
+
+        @Override
+        public boolean matches(byte[] cells, int offset, int length) {
+            checkReadable();
+            int pressCount = mPoints.getPressCount();
+            int difference = pressCount ^ length;
+            for (int i = 0; i < length; i++) {
+                int cell = i < pressCount ? mPoints.getPressCell(i) : -1;
+                difference |= cell ^ (cells[offset + i] & 0xFF);
+            }
+            return difference == 0;
+        }
+
+        private void checkReadable() {
+            if (!isReadable) {
+                throw new IllegalStateException("SecurePattern is only readable inside the listener callback");
+            }
+        }
+    }
+
+    /**
+     * 设置绘制者（UI线程调用）
+     * <p>
+     * 新绘制者先完成预热（当前图案的缓存），再替换当前绘制者，替换后的首帧不再做初始化工作；绘制者不保存状态，可在多个视图间共享
+     *
+     * @param painter 绘制者
+     */
+    public void setPainter(Painter painter) {
+        if (painter == null || painter == mPainter) {
+            return;
+        }
+        // 1.预热新绘制者
+        preparePainter(painter);
+        // 2.替换并重绘
+        mPainter = painter;
+        invalidate();
+        // 3.已完成布局时预热新绘制者的绘制路径
+        if (viewSize > 0) {
+            removeCallbacks(mPrewarmRunnable);
+            post(mPrewarmRunnable);
+        }
+    }
+
+    /**
+     * 获取当前绘制者
+     */
+    public Painter getPainter() {
+        return mPainter;
+    }
+
+    /**
+     * 获取绘制上下文（本视图的画笔、连线样式与绘制缓存）
+     */
+    public PainterContext getPainterContext() {
+        return mPainterContext;
+    }
+
+    /**
+     * 设置连线宽度模式（可变宽度连线由三角形带一次drawVertices绘制）
+     *
+     * @param lineWidthMode 连线宽度模式（{@link #LINE_WIDTH_FIXED}、{@link #LINE_WIDTH_PRESSURE}或{@link #LINE_WIDTH_SPEED}）
+     */
+    public void setLineWidthMode(@LineWidthMode int lineWidthMode) {
+        mLineWidthMode = lineWidthMode;
+        mPainterContext.setVariableWidth(lineWidthMode != LINE_WIDTH_FIXED, mLineThickness);
+        preparePainter(mPainter);
+        postInvalidate();
+    }
+
+    /**
+     * 设置连线样式
+     *
+     * @param lineStyle 连线样式（{@link Painter#LINE_STYLE_SOLID}或{@link Painter#LINE_STYLE_GRADIENT}）
+     */
+    public void setLineStyle(@Painter.LineStyle int lineStyle) {
+        mLineStyle = lineStyle;
+        mPainterContext.setLineStyle(lineStyle);
+        commitLineSegments();
+        postInvalidate();
+    }
+
+    /**
+     * 设置渐变连线的颜色（颜色沿解锁进度均匀分布）
+     *
+     * @param pressColors 按下状态渐变颜色（至少一个颜色）
+     * @param errorColors 出错状态渐变颜色（至少一个颜色）
+     * @throws IllegalArgumentException 颜色数组为空时抛出
+     */
+    public void setLineGradientColors(int[] pressColors, int[] errorColors) {
+        // 先由PainterContext校验，避免空数组留到绘制时才越界
+        mPainterContext.setLineGradientColors(pressColors, errorColors);
+        mPressLineColors = pressColors.clone();
+        mErrorLineColors = errorColors.clone();
+        commitLineSegments();
+        postInvalidate();
+    }
+
+    /**
+     * 设置是否使用低延迟触摸输入（下次ACTION_DOWN时生效）
+     * <p>
+     * 开启后触摸事件不再按帧批量分发，连线可以更紧密地跟随手指，但触摸事件频率会随屏幕采样率升高
+     *
+     * @param lowLatencyInput 是否使用低延迟触摸输入
+     */
+    public void setLowLatencyInput(boolean lowLatencyInput) {
+        isLowLatencyInput = lowLatencyInput;
+    }
+
+    /**
+     * 设置是否开启自适应绘制质量
+     * <p>
+     * 开启后通过宿主窗口的FrameMetrics监视帧耗时（需要Android 7.0及以上），拖动过程中频繁超出帧间隔时
+     * 降低绘制质量（关闭点的抗锯齿、渐变连线改为纯色、不绘制箭头等），手指抬起后恢复完整绘制质量
+     *
+     * @param adaptiveQuality 是否开启自适应绘制质量
+     */
+    public void setAdaptiveQuality(boolean adaptiveQuality) {
+        if (isAdaptiveQuality == adaptiveQuality) {
+            return;
+        }
+        isAdaptiveQuality = adaptiveQuality;
+        if (!adaptiveQuality) {
+            stopQualityMonitor();
+        } else if (isAttachedToWindow()) {
+            startQualityMonitor();
+        }
+    }
+
+    /**
+     * 演示图案（沿图案折线逐步绘制连线，连线经过的点依次点亮；需在布局完成后调用）
+     * <p>
+     * 演示结束后保持完整图案，直到用户触摸或调用{@link #stopGhostPattern()}
+     *
+     * @param cells    点下标序列（不可重复）
+     * @param duration 演示时长（毫秒）
+     */
+    public void playGhostPattern(int[] cells, long duration) {
+        // 1.参数合法性判断
+        checkGhostLength(cells.length);
+        for (int i = 0; i < cells.length; i++) {
+            checkGhostCell(cells, i, cells[i]);
+        }
+        // 2.停止上一次演示及还原过渡，清理绘制信息
+        stopGhostPattern();
+        cancelTransition();
+        clear();
+        isErrorStatus = false;
+        // 3.生成折线路径并预先测量
+        System.arraycopy(cells, 0, mGhostCells, 0, cells.length);
+        startGhostPattern(cells.length, duration);
+    }
+
+    /**
+     * 演示图案（点下标字节数组形式，如{@link SecurePattern#copyTo(byte[])}的结果；不生成密码字符串，适用于安全模式）
+     *
+     * @param cells    按下顺序的点下标（只读取前length个，调用方可在返回后清零）
+     * @param length   点的数量
+     * @param duration 演示时长（毫秒）
+     */
+    public void playGhostPattern(byte[] cells, int length, long duration) {
+        // 1.参数合法性判断
+        if (length > cells.length) {
+            throw new IllegalArgumentException("invalid pattern length: " + length);
+        }
+        checkGhostLength(length);
+        // 2.停止上一次演示及还原过渡，清理绘制信息
+        stopGhostPattern();
+        cancelTransition();
+        clear();
+        isErrorStatus = false;
+        // 3.逐个校验并复制到演示数组（校验失败时清零已复制的部分）
+        for (int i = 0; i < length; i++) {
+            int cell = cells[i];
+            try {
+                checkGhostCell(mGhostCells, i, cell);
+            } catch (IllegalArgumentException e) {
+                Arrays.fill(mGhostCells, 0);
+                throw e;
+            }
+            mGhostCells[i] = cell;
+        }
+        startGhostPattern(length, duration);
+    }
+
+    /**
+     * 演示图案（点下标字节数组形式）
+     *
+     * @see #playGhostPattern(byte[], int, long)
+     */
+    public void playGhostPattern(byte[] cells, long duration) {
+        playGhostPattern(cells, cells.length, duration);
+    }
+
+    private void checkGhostLength(int length) {
+        if (length == 0 || length > mPoints.size()) {
+            throw new IllegalArgumentException("invalid pattern length: " + length);
+        }
+    }
+
+    /**
+     * 校验第index个点（不能越界，不能与cells中之前的点重复）
+     */
+    private void checkGhostCell(int[] cells, int index, int cell) {
+        boolean isRepeated = false;
+        for (int j = 0; j < index; j++) {
+            isRepeated |= cells[j] == cell;
+        }
+        if (cell < 0 || cell >= mPoints.size() || isRepeated) {
+            throw new IllegalArgumentException("invalid pattern cell: " + cell);
+        }
+    }
+
+    /**
+     * 按mGhostCells中的前count个点开始演示
+     */
+    private void startGhostPattern(int count, long duration) {
+        mGhostCellCount = count;
+        mGhostDistance = 0;
+        buildGhostPath();
+        // 4.开始演示（动画只创建一次）
+        if (mGhostAnimator == null) {
+            mGhostAnimator = ValueAnimator.ofFloat(0, 1);
+            mGhostAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+                @Override
+                public void onAnimationUpdate(ValueAnimator animation) {
+                    updateGhostPattern(animation.getAnimatedFraction());
+                }
+            });
+        }
+        isGhostPlaying = true;
+        mGhostAnimator.setDuration(duration);
+        mGhostAnimator.start();
+    }
+
+    /**
+     * 演示图案（数字密码形式）
+     * <p>
+     * 密码字符串不可清零，安全模式下使用{@link #playGhostPattern(byte[], int, long)}
+     *
+     * @param password 数字密码（如{@link OnGestureLockListener#onComplete(String)}的结果，每个字符对应点下标'0' + cell）
+     * @param duration 演示时长（毫秒）
+     */
+    public void playGhostPattern(String password, long duration) {
+        int[] cells = new int[password.length()];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = password.charAt(i) - '0';
+        }
+        playGhostPattern(cells, duration);
+    }
+
+    /**
+     * 停止演示图案并清除绘制信息
+     */
+    public void stopGhostPattern() {
+        if (!isGhostPlaying) {
+            return;
+        }
+        isGhostPlaying = false;
+        mGhostAnimator.cancel();
+        clear();
+        requestRedraw();
+    }
+
+    /**
+     * 生成演示图案的折线路径并记录各点的累计长度
+     */
+    private void buildGhostPath() {
+        mGhostPath.rewind();
+        float distance = 0;
+        for (int i = 0; i < mGhostCellCount; i++) {
+            float x = mPoints.getX(mGhostCells[i]);
+            float y = mPoints.getY(mGhostCells[i]);
+            if (i == 0) {
+                mGhostPath.moveTo(x, y);
+            } else {
+                float dx = x - mPoints.getX(mGhostCells[i - 1]);
+                float dy = y - mPoints.getY(mGhostCells[i - 1]);
+                distance += (float) Math.sqrt(dx * dx + dy * dy);
+                mGhostPath.lineTo(x, y);
+            }
+            mGhostCellDistances[i] = distance;
+        }
+        mGhostMeasure.setPath(mGhostPath, false);
+    }
+
+    /**
+     * 更新演示进度：点亮连线已经过的点
+     *
+     * @param fraction 演示进度[0,1]
+     */
+    private void updateGhostPattern(float fraction) {
+        mGhostDistance = fraction * mGhostCellDistances[mGhostCellCount - 1];
+        int pressCount = mPoints.getPressCount();
+        while (pressCount < mGhostCellCount && mGhostCellDistances[pressCount] <= mGhostDistance) {
+            mPoints.press(mGhostCells[pressCount], PointArray.POINT_PRESS_STATUS);
+            pressCount++;
+        }
+        requestRedraw();
+    }
+
+    /**
+     * 设置是否显示手指拖尾（拖尾记录手指最近的移动轨迹并逐渐淡出，完全淡出后不再请求重绘）
+     *
+     * @param showTrail 是否显示手指拖尾
+     */
+    public void setShowTrail(boolean showTrail) {
+        if (showTrail == (mFingerTrail != null)) {
+            return;
+        }
+        mFingerTrail = showTrail ? createFingerTrail() : null;
+        invalidate();
+    }
+
+    /**
+     * 设置手指拖尾颜色 & 宽度
+     *
+     * @param trailColor 拖尾颜色 (具体颜色值,不是引用值)
+     * @param trailWidth 拖尾宽度（像素）
+     */
+    public void setTrailStyle(int trailColor, int trailWidth) {
+        mTrailColor = trailColor;
+        mTrailWidth = trailWidth;
+        if (mFingerTrail != null) {
+            mFingerTrail.setColor(trailColor);
+            mFingerTrail.setWidth(trailWidth);
+        }
+    }
+
+    /**
+     * 输出状态变化事件（错误状态或清除图案）
+     */
+    private void dispatchStatusChanged(byte status) {
+        if (mStreamListener != null) {
+            mStreamListener.onStatusChanged(status);
+            mStreamListener.onFrameEnd();
+        }
+    }
+
+    /**
+     * 设置手势事件流监听器（在UI线程回调；如{@link GestureStreamEncoder}把手势输入编码后发送给镜像端）
+     * <p>
+     * 事件流默认包含完整的图案，安全模式下不输出按下的点与触摸位置（见{@link #setOnSecureGestureLockListener}）
+     *
+     * @param listener 监听器，为null时不输出
+     */
+    public void setGestureStreamListener(GestureStreamListener listener) {
+        mStreamListener = listener;
+    }
+
+    /**
+     * 设置是否只读（只读时不响应触摸，用于镜像视图）
+     */
+    public void setReadOnly(boolean readOnly) {
+        isReadOnly = readOnly;
+    }
+
+    /**
+     * 获取镜像监听器（按事件流还原图案，不震动、不播放按键音、不回调解锁监听器；需在UI线程回调）
+     * <p>
+     * 调用后视图变为只读，例如new GestureStreamDecoder(mirrorView.getMirrorListener())
+     */
+    public GestureStreamListener getMirrorListener() {
+        setReadOnly(true);
+        if (mMirrorListener == null) {
+            mMirrorListener = new GestureStreamListener() {
+                @Override
+                public void onGestureStarted() {
+                    cancelTransition();
+                    stopGhostPattern();
+                    clear();
+                    isErrorStatus = false;
+                }
+
+                @Override
+                public void onPointPressed(int cell) {
+                    if (cell < 0 || cell >= mPoints.size() || mPoints.isPressed(cell)) {
+                        return;
+                    }
+                    mPoints.press(cell, PointArray.POINT_PRESS_STATUS);
+                    if (mPoints.getPressCount() > 1) {
+                        mPainter.commitLineSegment(mPainterContext, mPoints, mPoints.getPressCount() - 2);
+                    }
+                    startAnimation(cell, 300);
+                }
+
+                @Override
+                public void onTouchMoved(float x, float y) {
+                    mEventX = x * viewSize;
+                    mEventY = y * viewSize;
+                }
+
+                @Override
+                public void onGestureEnded() {
+                    moveEventToLastPressPoint();
+                    endPointAnimators();
+                }
+
+                @Override
+                public void onStatusChanged(byte status) {
+                    if (status == PointArray.POINT_ERROR_STATUS) {
+                        showErrorStatus();
+                    } else {
+                        cancelTransition();
+                        clear();
+                        isErrorStatus = false;
+                    }
+                }
+
+                @Override
+                public void onFrameEnd() {
+                    requestRedraw();
+                }
+            };
+        }
+        return mMirrorListener;
+    }
+
+    /**
+     * 设置按键音（已关联窗口时立即在后台重新加载）
+     *
+     * @param resId 音频资源（res/raw，为0时不播放）
+     */
+    public void setClickSound(@RawRes int resId) {
+        mClickSoundRes = resId;
+        if (resId == 0) {
+            mClickSound.release();
+        } else if (isAttachedToWindow()) {
+            mClickSound.load(getContext(), resId);
+        }
+    }
+
+    /**
+     * 设置按键音音量
+     *
+     * @param volume 音量[0,1]
+     */
+    public void setClickVolume(float volume) {
+        mClickSound.setVolume(volume);
+    }
+
+    /**
+     * 设置点布局（点数量变化时重新创建点集合，并清除当前图案）
+     *
+     * @param pointLayout 点布局
+     */
+    public void setPointLayout(PointLayout pointLayout) {
+        // 1.停止演示及还原过渡，结束点动画
+        stopGhostPattern();
+        cancelTransition();
+        endPointAnimators();
+        isErrorStatus = false;
+        // 2.更换点布局并重新创建点集合
+        mPointLayout = pointLayout;
+        createPoints();
+        mPainterContext.clearLineShaders();
+        preparePainter(mPainter);
+        // 3.已布局时按当前尺寸计算坐标
+        if (viewSize > 0) {
+            updatePointGeometry();
+            removeCallbacks(mPrewarmRunnable);
+            post(mPrewarmRunnable);
+        }
+        requestRedraw();
+    }
+
+    public PointLayout getPointLayout() {
+        return mPointLayout;
+    }
+
+    /**
+     * 获取点集合（只读，坐标在View执行完onSizeChanged(w, h, oldw, oldh)方法后才有值）
+     */
+    public PointTable getPoints() {
+        return mPoints;
+    }
+
     /**
      * 获取半径值（View执行完onSizeChanged(w, h, oldw, oldh)方法后mRadius才有值）
+     * 返回四舍五入后的整数，需要精确值请使用{@link #getExactRadius()}
      */
     public int getRadius() {
+        return Math.round(mRadius);
+    }
+
+    /**
+     * 获取未取整的半径值（View执行完onSizeChanged(w, h, oldw, oldh)方法后mRadius才有值）
+     */
+    public float getExactRadius() {
         return mRadius;
     }
 }
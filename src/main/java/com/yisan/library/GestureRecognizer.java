@@ -0,0 +1,119 @@
+package com.yisan.library;
+
+import com.yisan.library.model.PointArray;
+import com.yisan.library.pattern.MiddleCellTable;
+
+/**
+ * @description: 手势识别器（根据触摸位置按下点，两点连线经过未按下的点时先行按下这些点；不依赖View，可供其他UI框架复用）
+ * @packageName: com.yisan.library
+ */
+public final class GestureRecognizer {
+
+    /**
+     * 点按下监听器（每按下一个点回调一次，包括自动补充的中间点）
+     */
+    public interface OnPointPressListener {
+
+        /**
+         * @param cell 点下标
+         */
+        void onPointPressed(int cell);
+    }
+
+    private final PointArray mPoints;
+    private final OnPointPressListener mListener;
+    /**
+     * 点的空间索引 & 中间点表（由点布局提供，与图案校验规则一致）
+     */
+    private final SpatialIndex mIndex = new SpatialIndex();
+    private final MiddleCellTable mMiddleCells;
+    /**
+     * 有效触摸半径
+     */
+    private float mHitRadius;
+
+    /**
+     * @param points      点集合
+     * @param middleCells 中间点表（如{@link com.yisan.library.layout.PointLayout#getMiddleCells()}，点的数量须与点集合一致）
+     * @param listener    点按下监听器
+     */
+    public GestureRecognizer(PointArray points, MiddleCellTable middleCells, OnPointPressListener listener) {
+        if (middleCells.getCellCount() != points.size()) {
+            throw new IllegalArgumentException("middle cell table covers " + middleCells.getCellCount()
+                    + " cells, expected " + points.size());
+        }
+        mPoints = points;
+        mMiddleCells = middleCells;
+        mListener = listener;
+    }
+
+    /**
+     * 设置有效触摸半径并重建空间索引（点的位置变化后调用）
+     */
+    public void setHitRadius(float hitRadius) {
+        mHitRadius = hitRadius;
+        mIndex.build(mPoints, hitRadius * 2);
+    }
+
+    /**
+     * 根据触摸位置修改点的状态
+     *
+     * @param x x
+     * @param y y
+     */
+    public void touch(float x, float y) {
+        int cell = findCell(x, y);
+        if (cell >= 0) {
+            //按下的点唯一point半径以内
+            press(cell);
+        }
+    }
+
+    /**
+     * 查找(x,y)所在的点（距离点圆心小于有效触摸半径）
+     *
+     * @return 点下标，不在任何点内时返回-1
+     */
+    public int findCell(float x, float y) {
+        return mIndex.findNearest(x, y, mHitRadius);
+    }
+
+    /**
+     * 按下点
+     *
+     * @param cell 点下标
+     */
+    private void press(int cell) {
+        // 1.判断该点是否之前已添加过
+        if (mPoints.isPressed(cell)) {
+            return;
+        }
+        // 2.如果两点之间还有点没添加,先添加中间点
+        if (mPoints.getPressCount() > 0) {
+            addMiddlePoints(cell);
+        }
+        // 3.添加按下的点
+        pressDirectly(cell);
+    }
+
+    /**
+     * 添加中间点（上一个按下的点与该点连线经过的点，按经过的顺序先行添加还没有添加的点）
+     *
+     * @param cell 点下标
+     */
+    private void addMiddlePoints(int cell) {
+        int lastCell = mPoints.getPressCell(mPoints.getPressCount() - 1);
+        int count = mMiddleCells.getMiddleCount(lastCell, cell);
+        for (int i = 0; i < count; i++) {
+            int middle = mMiddleCells.getMiddleCell(lastCell, cell, i);
+            if (!mPoints.isPressed(middle)) {
+                pressDirectly(middle);
+            }
+        }
+    }
+
+    private void pressDirectly(int cell) {
+        mPoints.press(cell, PointArray.POINT_PRESS_STATUS);
+        mListener.onPointPressed(cell);
+    }
+}
@@ -0,0 +1,139 @@
+package com.yisan.library;
+
+import com.yisan.library.model.PointTable;
+
+/**
+ * @description: 点的均匀网格空间索引（每次布局后构建一次，命中检测只检查附近网格内的点）
+ * @packageName: com.yisan.library
+ */
+final class SpatialIndex {
+
+    /**
+     * 每个方向的最大网格数量（避免点分布极度稀疏时分配过多网格）
+     */
+    private static final int MAX_BUCKETS = 64;
+
+    private PointTable mPoints;
+    /**
+     * 网格原点 & 网格边长 & 网格行列数
+     */
+    private float mOriginX;
+    private float mOriginY;
+    private float mBucketSize;
+    private int mColumns;
+    private int mRows;
+    /**
+     * 第i个网格内的点为mItems[mBucketStart[i], mBucketStart[i + 1])（计数排序，两个数组在重新构建时复用）
+     */
+    private int[] mBucketStart = new int[2];
+    private int[] mItems = new int[0];
+
+    /**
+     * 构建索引
+     *
+     * @param points     点集合
+     * @param bucketSize 网格边长（通常为有效触摸半径的两倍，小于等于0时所有点放入同一网格）
+     */
+    void build(PointTable points, float bucketSize) {
+        mPoints = points;
+        int size = points.size();
+        // 1.计算点的范围与网格行列数
+        float minX = Float.MAX_VALUE;
+        float minY = Float.MAX_VALUE;
+        float maxX = -Float.MAX_VALUE;
+        float maxY = -Float.MAX_VALUE;
+        for (int cell = 0; cell < size; cell++) {
+            minX = Math.min(minX, points.getX(cell));
+            minY = Math.min(minY, points.getY(cell));
+            maxX = Math.max(maxX, points.getX(cell));
+            maxY = Math.max(maxY, points.getY(cell));
+        }
+        mOriginX = size > 0 ? minX : 0;
+        mOriginY = size > 0 ? minY : 0;
+        if (bucketSize > 0 && size > 0) {
+            mColumns = Math.min(MAX_BUCKETS, (int) ((maxX - minX) / bucketSize) + 1);
+            mRows = Math.min(MAX_BUCKETS, (int) ((maxY - minY) / bucketSize) + 1);
+            mBucketSize = Math.max(bucketSize, Math.max((maxX - minX) / mColumns, (maxY - minY) / mRows));
+        } else {
+            mColumns = 1;
+            mRows = 1;
+            mBucketSize = Float.MAX_VALUE;
+        }
+        int buckets = mColumns * mRows;
+        if (mBucketStart.length < buckets + 1) {
+            mBucketStart = new int[buckets + 1];
+        }
+        if (mItems.length < size) {
+            mItems = new int[size];
+        }
+        // 2.计数排序：统计每个网格的点数量，前缀和得到起始位置，再按点下标顺序放入
+        for (int i = 0; i <= buckets; i++) {
+            mBucketStart[i] = 0;
+        }
+        for (int cell = 0; cell < size; cell++) {
+            mBucketStart[bucketOf(points.getX(cell), points.getY(cell)) + 1]++;
+        }
+        for (int i = 0; i < buckets; i++) {
+            mBucketStart[i + 1] += mBucketStart[i];
+        }
+        for (int cell = 0; cell < size; cell++) {
+            int bucket = bucketOf(points.getX(cell), points.getY(cell));
+            mItems[mBucketStart[bucket]++] = cell;
+        }
+        // 放入后起始位置后移了一个网格的数量，整体右移还原
+        for (int i = buckets; i > 0; i--) {
+            mBucketStart[i] = mBucketStart[i - 1];
+        }
+        mBucketStart[0] = 0;
+    }
+
+    /**
+     * 查找距离(x,y)最近且小于radius的点
+     *
+     * @return 点下标，不存在时返回-1
+     */
+    int findNearest(float x, float y, float radius) {
+        if (mPoints == null) {
+            return -1;
+        }
+        int fromColumn = column(x - radius);
+        int toColumn = column(x + radius);
+        int fromRow = row(y - radius);
+        int toRow = row(y + radius);
+        int nearest = -1;
+        float nearestSquare = radius * radius;
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int column = fromColumn; column <= toColumn; column++) {
+                int bucket = row * mColumns + column;
+                for (int i = mBucketStart[bucket]; i < mBucketStart[bucket + 1]; i++) {
+                    int cell = mItems[i];
+                    float dx = x - mPoints.getX(cell);
+                    float dy = y - mPoints.getY(cell);
+                    //比较平方值，省去开方
+                    float square = dx * dx + dy * dy;
+                    if (square < nearestSquare) {
+                        nearest = cell;
+                        nearestSquare = square;
+                    }
+                }
+            }
+        }
+        return nearest;
+    }
+
+    private int bucketOf(float x, float y) {
+        return row(y) * mColumns + column(x);
+    }
+
+    private int column(float x) {
+        return clamp((int) ((x - mOriginX) / mBucketSize), mColumns);
+    }
+
+    private int row(float y) {
+        return clamp((int) ((y - mOriginY) / mBucketSize), mRows);
+    }
+
+    private static int clamp(int index, int count) {
+        return index < 0 ? 0 : Math.min(index, count - 1);
+    }
+}
@@ -0,0 +1,81 @@
+package com.yisan.library;
+
+import android.graphics.Canvas;
+import android.graphics.RecordingCanvas;
+import android.graphics.RenderNode;
+import android.os.Build;
+
+import androidx.annotation.RequiresApi;
+
+/**
+ * @description: 还原过渡的两个缓存图层（起始画面与结束画面各录制一次，过渡期间只修改起始图层的透明度，由RenderThread合成）
+ * @packageName: com.yisan.library
+ */
+@RequiresApi(Build.VERSION_CODES.Q)
+final class TransitionLayers {
+
+    /**
+     * 起始画面（按下/错误状态的点与连线）& 结束画面（正常状态颜色的点，不含连线）
+     */
+    private final RenderNode mFromNode = new RenderNode("GestureLockTransitionFrom");
+    private final RenderNode mToNode = new RenderNode("GestureLockTransitionTo");
+
+    TransitionLayers() {
+        // 起始图层作为独立的硬件图层合成，修改透明度时不重新绘制图层内容
+        mFromNode.setUseCompositingLayer(true, null);
+    }
+
+    /**
+     * 开始录制起始画面
+     */
+    RecordingCanvas beginFrom(int width, int height) {
+        mFromNode.setPosition(0, 0, width, height);
+        mFromNode.setAlpha(1);
+        return mFromNode.beginRecording();
+    }
+
+    void endFrom() {
+        mFromNode.endRecording();
+    }
+
+    /**
+     * 开始录制结束画面
+     */
+    RecordingCanvas beginTo(int width, int height) {
+        mToNode.setPosition(0, 0, width, height);
+        return mToNode.beginRecording();
+    }
+
+    void endTo() {
+        mToNode.endRecording();
+    }
+
+    /**
+     * 设置过渡进度（起始图层透明度为1 - fraction，叠加在结束图层之上）
+     */
+    void setFraction(float fraction) {
+        mFromNode.setAlpha(1 - fraction);
+    }
+
+    /**
+     * 绘制两个图层（只记录两条drawRenderNode指令）
+     *
+     * @return 未录制或canvas不支持硬件加速时返回false，由调用方逐帧绘制
+     */
+    boolean draw(Canvas canvas) {
+        if (!canvas.isHardwareAccelerated() || !mFromNode.hasDisplayList() || !mToNode.hasDisplayList()) {
+            return false;
+        }
+        canvas.drawRenderNode(mToNode);
+        canvas.drawRenderNode(mFromNode);
+        return true;
+    }
+
+    /**
+     * 释放图层内容（过渡结束或取消时调用）
+     */
+    void discard() {
+        mFromNode.discardDisplayList();
+        mToNode.discardDisplayList();
+    }
+}
@@ -0,0 +1,137 @@
+package com.yisan.library.effect;
+
+import android.content.Context;
+import android.media.AudioAttributes;
+import android.media.SoundPool;
+import android.os.AsyncTask;
+import android.os.SystemClock;
+
+import androidx.annotation.RawRes;
+
+/**
+ * @description: 按键音（关联窗口时在后台线程创建SoundPool并预加载音频，按下点时直接播放已解码的音频；一次触摸连续按下的多个点只播放一次）
+ * @packageName: com.yisan.library.effect
+ */
+public final class ClickSound {
+
+    /**
+     * 合并播放的时间窗口（毫秒，自动补充的中间点与按下的点在同一次触摸事件内按下）
+     */
+    private static final long COALESCE_MILLIS = 30;
+
+    /**
+     * 同时播放的最大音频流数量
+     */
+    private final int mMaxStreams;
+    /**
+     * 音量[0,1]
+     */
+    private volatile float mVolume = 1.0F;
+    /**
+     * 音频池 & 已加载完成的音频ID（0表示未加载完成）
+     */
+    private volatile SoundPool mSoundPool;
+    private volatile int mSoundId;
+    /**
+     * 加载批次（释放后递增，丢弃释放前发起的后台加载结果）
+     */
+    private int mGeneration;
+    /**
+     * 上次播放时间（只在UI线程读写）
+     */
+    private long mLastPlayTime;
+
+    /**
+     * @param maxStreams 同时播放的最大音频流数量
+     */
+    public ClickSound(int maxStreams) {
+        mMaxStreams = Math.max(1, maxStreams);
+    }
+
+    /**
+     * 设置音量
+     *
+     * @param volume 音量[0,1]
+     */
+    public void setVolume(float volume) {
+        mVolume = volume < 0 ? 0 : volume > 1 ? 1 : volume;
+    }
+
+    /**
+     * 在后台线程创建音频池并加载音频（不阻塞调用线程，加载完成前调用{@link #play()}不播放）
+     *
+     * @param context 上下文环境
+     * @param resId   音频资源（res/raw）
+     */
+    public void load(Context context, @RawRes final int resId) {
+        release();
+        final Context appContext = context.getApplicationContext();
+        final int generation;
+        synchronized (this) {
+            generation = mGeneration;
+        }
+        AsyncTask.THREAD_POOL_EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                final SoundPool soundPool = new SoundPool.Builder()
+                        .setMaxStreams(mMaxStreams)
+                        .setAudioAttributes(new AudioAttributes.Builder()
+                                .setUsage(AudioAttributes.USAGE_ASSISTANCE_SONIFICATION)
+                                .setContentType(AudioAttributes.CONTENT_TYPE_SONIFICATION)
+                                .build())
+                        .build();
+                synchronized (ClickSound.this) {
+                    // 加载期间已释放，丢弃本次结果
+                    if (generation != mGeneration) {
+                        soundPool.release();
+                        return;
+                    }
+                    mSoundPool = soundPool;
+                }
+                soundPool.setOnLoadCompleteListener(new SoundPool.OnLoadCompleteListener() {
+                    @Override
+                    public void onLoadComplete(SoundPool pool, int sampleId, int status) {
+                        if (status == 0 && pool == mSoundPool) {
+                            mSoundId = sampleId;
+                        }
+                    }
+                });
+                soundPool.load(appContext, resId, 1);
+            }
+        });
+    }
+
+    /**
+     * 播放按键音（未加载完成或处于合并时间窗口内时直接返回）
+     */
+    public void play() {
+        SoundPool soundPool = mSoundPool;
+        int soundId = mSoundId;
+        if (soundPool == null || soundId == 0) {
+            return;
+        }
+        long now = SystemClock.uptimeMillis();
+        if (now - mLastPlayTime < COALESCE_MILLIS) {
+            return;
+        }
+        mLastPlayTime = now;
+        float volume = mVolume;
+        soundPool.play(soundId, volume, volume, 1, 0, 1.0F);
+    }
+
+    /**
+     * 释放音频池（取消窗口关联时调用）
+     */
+    public void release() {
+        SoundPool soundPool;
+        synchronized (this) {
+            mGeneration++;
+            soundPool = mSoundPool;
+            mSoundPool = null;
+            mSoundId = 0;
+        }
+        if (soundPool != null) {
+            soundPool.release();
+        }
+    }
+}
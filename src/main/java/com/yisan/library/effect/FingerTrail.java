@@ -0,0 +1,166 @@
+package com.yisan.library.effect;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.os.Build;
+
+import java.util.Arrays;
+
+/**
+ * @description: 手指拖尾（环形缓冲区保存最近的触摸采样，按采样时间淡出，每帧一次drawVertices批量绘制）
+ * @packageName: com.yisan.library.effect
+ */
+public final class FingerTrail {
+
+    /**
+     * 采样坐标 & 采样时间（环形缓冲区，构造时一次性分配）
+     */
+    private final float[] mX;
+    private final float[] mY;
+    private final long[] mTime;
+    /**
+     * 最早采样的下标 & 采样数量
+     */
+    private int mHead;
+    private int mCount;
+    /**
+     * 三角形带顶点（每个采样左右各一个顶点）& 顶点颜色（每帧复用）
+     */
+    private final float[] mVertices;
+    private final int[] mColors;
+    private final Paint mPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+    /**
+     * 淡出时长（毫秒）
+     */
+    private final long mDuration;
+    private int mColor = Color.BLACK;
+    private float mWidth;
+
+    /**
+     * @param capacity 保存的采样数量
+     * @param duration 淡出时长（毫秒）
+     */
+    public FingerTrail(int capacity, long duration) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("capacity must be at least 2: " + capacity);
+        }
+        mX = new float[capacity];
+        mY = new float[capacity];
+        mTime = new long[capacity];
+        mVertices = new float[capacity * 4];
+        mColors = new int[capacity * 2];
+        mDuration = duration;
+        mPaint.setStyle(Paint.Style.STROKE);
+        mPaint.setStrokeCap(Paint.Cap.ROUND);
+    }
+
+    /**
+     * 设置拖尾颜色（新采样的颜色，随时间淡出为透明）
+     */
+    public void setColor(int color) {
+        mColor = color;
+    }
+
+    /**
+     * 设置拖尾宽度（新采样处的宽度，随时间收窄为0）
+     */
+    public void setWidth(float width) {
+        mWidth = width;
+    }
+
+    /**
+     * 添加采样（缓冲区已满时覆盖最早的采样）
+     *
+     * @param x    x坐标
+     * @param y    y坐标
+     * @param time 采样时间（与{@link android.os.SystemClock#uptimeMillis()}同一时间基准，如MotionEvent的事件时间）
+     */
+    public void add(float x, float y, long time) {
+        int capacity = mX.length;
+        int index;
+        if (mCount == capacity) {
+            index = mHead;
+            mHead = (mHead + 1) % capacity;
+        } else {
+            index = (mHead + mCount) % capacity;
+            mCount++;
+        }
+        mX[index] = x;
+        mY[index] = y;
+        mTime[index] = time;
+    }
+
+    /**
+     * 清空采样（同时清零采样与顶点数据，堆内存中不保留上一次的触摸轨迹）
+     */
+    public void clear() {
+        Arrays.fill(mX, 0);
+        Arrays.fill(mY, 0);
+        Arrays.fill(mVertices, 0);
+        mHead = 0;
+        mCount = 0;
+    }
+
+    /**
+     * 绘制拖尾
+     *
+     * @param canvas 画布
+     * @param now    当前时间（与采样时间同一时间基准）
+     * @return 是否仍有未淡出的采样（返回false时无需再请求下一帧）
+     */
+    public boolean draw(Canvas canvas, long now) {
+        // 1.丢弃已完全淡出的采样
+        int capacity = mX.length;
+        while (mCount > 0 && now - mTime[mHead] >= mDuration) {
+            mHead = (mHead + 1) % capacity;
+            mCount--;
+        }
+        if (mCount < 2) {
+            return mCount > 0;
+        }
+        // 2.生成三角形带顶点：沿前后采样连线的法线方向左右展开，宽度与透明度随采样时间衰减
+        for (int i = 0; i < mCount; i++) {
+            int index = (mHead + i) % capacity;
+            int previous = (mHead + Math.max(i - 1, 0)) % capacity;
+            int next = (mHead + Math.min(i + 1, mCount - 1)) % capacity;
+            float dx = mX[next] - mX[previous];
+            float dy = mY[next] - mY[previous];
+            float length = (float) Math.sqrt(dx * dx + dy * dy);
+            float life = 1.0F - (float) (now - mTime[index]) / mDuration;
+            float offset = length > 0 ? mWidth / 2 * life / length : 0;
+            mVertices[4 * i] = mX[index] - dy * offset;
+            mVertices[4 * i + 1] = mY[index] + dx * offset;
+            mVertices[4 * i + 2] = mX[index] + dy * offset;
+            mVertices[4 * i + 3] = mY[index] - dx * offset;
+            int alpha = (int) (Color.alpha(mColor) * life);
+            mColors[2 * i] = (alpha << 24) | (mColor & 0x00FFFFFF);
+            mColors[2 * i + 1] = mColors[2 * i];
+        }
+        // 3.批量绘制（硬件加速画布从Android 10开始支持drawVertices，更低版本逐段绘制）
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q || !canvas.isHardwareAccelerated()) {
+            canvas.drawVertices(Canvas.VertexMode.TRIANGLE_STRIP, mCount * 4, mVertices, 0,
+                    null, 0, mColors, 0, null, 0, 0, mPaint);
+        } else {
+            drawSegments(canvas, now);
+        }
+        return true;
+    }
+
+    /**
+     * 逐段绘制拖尾（不支持drawVertices时使用）
+     */
+    private void drawSegments(Canvas canvas, long now) {
+        int capacity = mX.length;
+        for (int i = 0; i < mCount - 1; i++) {
+            int from = (mHead + i) % capacity;
+            int to = (mHead + i + 1) % capacity;
+            float life = 1.0F - (float) (now - mTime[to]) / mDuration;
+            mPaint.setColor(mColor);
+            mPaint.setAlpha((int) (Color.alpha(mColor) * life));
+            mPaint.setStrokeWidth(mWidth * life);
+            canvas.drawLine(mX[from], mY[from], mX[to], mY[to], mPaint);
+        }
+    }
+}
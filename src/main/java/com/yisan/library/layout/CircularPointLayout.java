@@ -0,0 +1,77 @@
+package com.yisan.library.layout;
+
+import com.yisan.library.model.PointArray;
+import com.yisan.library.pattern.MiddleCellTable;
+
+/**
+ * @description: 圆形布局（点均匀分布在圆周上，从正上方开始顺时针排列，可选圆心点作为最后一个点）
+ * @packageName: com.yisan.library.layout
+ */
+public final class CircularPointLayout implements PointLayout {
+
+    /**
+     * 圆周上点的数量 & 是否包含圆心点
+     */
+    private final int mRingCount;
+    private final boolean hasCenter;
+    /**
+     * 中间点表（圆周上不存在三点共线，只有经过圆心点的直径连线有中间点）
+     */
+    private final MiddleCellTable mMiddleCells;
+
+    /**
+     * @param ringCount 圆周上点的数量（至少3个）
+     * @param hasCenter 是否包含圆心点
+     */
+    public CircularPointLayout(int ringCount, boolean hasCenter) {
+        if (ringCount < 3) {
+            throw new IllegalArgumentException("ringCount must be at least 3: " + ringCount);
+        }
+        mRingCount = ringCount;
+        this.hasCenter = hasCenter;
+        // 圆周上点的数量为偶数时，相对的两点连线经过圆心点
+        int diameters = hasCenter && ringCount % 2 == 0 ? ringCount / 2 : 0;
+        int[][] lines = new int[diameters][];
+        for (int i = 0; i < diameters; i++) {
+            lines[i] = new int[]{i, ringCount, i + diameters};
+        }
+        mMiddleCells = MiddleCellTable.ofLines(getPointCount(), lines);
+    }
+
+    @Override
+    public int getPointCount() {
+        return hasCenter ? mRingCount + 1 : mRingCount;
+    }
+
+    @Override
+    public float layout(float size, float radiusRatio, PointArray points) {
+        // 1.点半径：不超过相邻两点弦长的一半，也不超过圆周到圆心距离的一半，并保证点不超出视图
+        float center = size / 2;
+        double halfAngle = Math.PI / mRingCount;
+        // 点半径r = k * R，R + r = center
+        float k = (float) Math.sin(halfAngle);
+        if (hasCenter) {
+            k = Math.min(k, 0.5F);
+        }
+        float ringRadius = center / (1 + k);
+        float radius = ringRadius * k * radiusRatio;
+        // 2.圆周上的点
+        for (int cell = 0; cell < mRingCount; cell++) {
+            double angle = 2 * halfAngle * cell;
+            points.setPosition(cell, center + ringRadius * (float) Math.sin(angle),
+                    center - ringRadius * (float) Math.cos(angle));
+            points.setBaseRadius(cell, radius);
+        }
+        // 3.圆心点
+        if (hasCenter) {
+            points.setPosition(mRingCount, center, center);
+            points.setBaseRadius(mRingCount, radius);
+        }
+        return radius;
+    }
+
+    @Override
+    public MiddleCellTable getMiddleCells() {
+        return mMiddleCells;
+    }
+}
@@ -0,0 +1,59 @@
+package com.yisan.library.layout;
+
+import com.yisan.library.model.PointArray;
+import com.yisan.library.pattern.MiddleCellTable;
+
+/**
+ * @description: 网格布局（n×n均匀排布，默认3×3；点下标按行从左到右、从上到下）
+ * @packageName: com.yisan.library.layout
+ */
+public final class GridPointLayout implements PointLayout {
+
+    /**
+     * 每行（列）点的数量
+     */
+    private final int mColumns;
+    /**
+     * 中间点表（共线且等间隔的点）
+     */
+    private final MiddleCellTable mMiddleCells;
+
+    public GridPointLayout() {
+        this(3);
+    }
+
+    /**
+     * @param columns 每行（列）点的数量
+     */
+    public GridPointLayout(int columns) {
+        if (columns < 1) {
+            throw new IllegalArgumentException("columns must be positive: " + columns);
+        }
+        mColumns = columns;
+        mMiddleCells = MiddleCellTable.ofGrid(columns);
+    }
+
+    @Override
+    public int getPointCount() {
+        return mColumns * mColumns;
+    }
+
+    @Override
+    public float layout(float size, float radiusRatio, PointArray points) {
+        float cellSize = size / mColumns;
+        float radius = cellSize / 2 * radiusRatio;
+        for (int i = 0; i < mColumns; i++) {
+            for (int j = 0; j < mColumns; j++) {
+                int cell = i * mColumns + j;
+                points.setPosition(cell, cellSize * (j + 0.5F), cellSize * (i + 0.5F));
+                points.setBaseRadius(cell, radius);
+            }
+        }
+        return radius;
+    }
+
+    @Override
+    public MiddleCellTable getMiddleCells() {
+        return mMiddleCells;
+    }
+}
@@ -0,0 +1,75 @@
+package com.yisan.library.layout;
+
+import com.yisan.library.model.PointArray;
+import com.yisan.library.pattern.MiddleCellTable;
+
+/**
+ * @description: 六边形布局（中心点外围绕若干圈六边形网格，点下标按行从左到右、从上到下）
+ * @packageName: com.yisan.library.layout
+ */
+public final class HexagonalPointLayout implements PointLayout {
+
+    /**
+     * 中心点外的圈数
+     */
+    private final int mRings;
+    /**
+     * 中间点表（按三角形网格的格点坐标计算）
+     */
+    private final MiddleCellTable mMiddleCells;
+
+    /**
+     * @param rings 中心点外的圈数（1圈共7个点，2圈共19个点）
+     */
+    public HexagonalPointLayout(int rings) {
+        if (rings < 1) {
+            throw new IllegalArgumentException("rings must be positive: " + rings);
+        }
+        mRings = rings;
+        // 格基(1,0)与(1/2,√3/2)（以点间距为单位）：第row行第i个点的格点坐标为(x - row) / 2与row，其中x为以半个点间距为单位的横坐标
+        int[] xs = new int[getPointCount()];
+        int[] ys = new int[getPointCount()];
+        int cell = 0;
+        for (int row = -rings; row <= rings; row++) {
+            int count = 2 * rings + 1 - Math.abs(row);
+            for (int i = 0; i < count; i++) {
+                int x = 2 * i - (count - 1);
+                xs[cell] = (x - row) / 2;
+                ys[cell] = row;
+                cell++;
+            }
+        }
+        mMiddleCells = MiddleCellTable.ofLattice(xs, ys);
+    }
+
+    @Override
+    public int getPointCount() {
+        return 1 + 3 * mRings * (mRings + 1);
+    }
+
+    @Override
+    public float layout(float size, float radiusRatio, PointArray points) {
+        // 中间一行最宽（2 * rings + 1个点），相邻点间距为distance
+        float distance = size / (2 * mRings + 1);
+        float rowHeight = distance * (float) Math.sqrt(3) / 2;
+        float radius = distance / 2 * radiusRatio;
+        float center = size / 2;
+        int cell = 0;
+        for (int row = -mRings; row <= mRings; row++) {
+            int count = 2 * mRings + 1 - Math.abs(row);
+            float startX = center - distance * (count - 1) / 2;
+            float y = center + rowHeight * row;
+            for (int i = 0; i < count; i++) {
+                points.setPosition(cell, startX + distance * i, y);
+                points.setBaseRadius(cell, radius);
+                cell++;
+            }
+        }
+        return radius;
+    }
+
+    @Override
+    public MiddleCellTable getMiddleCells() {
+        return mMiddleCells;
+    }
+}
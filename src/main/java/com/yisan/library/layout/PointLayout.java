@@ -0,0 +1,33 @@
+package com.yisan.library.layout;
+
+import com.yisan.library.model.PointArray;
+import com.yisan.library.pattern.MiddleCellTable;
+
+/**
+ * @description: 点布局策略（根据视图尺寸计算各点的位置与基础半径，点可任意排布）
+ * @packageName: com.yisan.library.layout
+ */
+public interface PointLayout {
+
+    /**
+     * 点的数量（同一布局对象始终返回相同的值）
+     */
+    int getPointCount();
+
+    /**
+     * 布局：写入各点的位置与基础半径（{@link PointArray#setPosition}、{@link PointArray#setBaseRadius}）
+     * <p>
+     * 所有点需位于边长为size的正方形内，且相邻点之间的距离大于返回的有效触摸半径的两倍
+     *
+     * @param size        视图边长（视图始终为正方形）
+     * @param radiusRatio 点半径比例
+     * @param points      点集合（大小为{@link #getPointCount()}）
+     * @return 有效触摸半径
+     */
+    float layout(float size, float radiusRatio, PointArray points);
+
+    /**
+     * 中间点表：两点连线恰好经过的点（连线时未按下的中间点会先行按下；同一布局对象始终返回相同的表）
+     */
+    MiddleCellTable getMiddleCells();
+}
@@ -0,0 +1,33 @@
+package com.yisan.library.listener;
+
+import com.yisan.library.model.SecurePattern;
+
+/**
+ * @description: 安全模式手势解锁监听器（图案只以{@link SecurePattern}只读视图提供，整个过程不产生包含图案的String）
+ * <p>
+ * 安全模式下手势事件流不输出按下的点与触摸位置，清理视图时清零事件流编码缓冲区；以下途径不受保护：
+ * GestureLockView.playGhostPattern(String, long)的密码字符串（改用byte[]重载），FrameSink自行复制保存的帧，
+ * Compose的GestureLockState.password（Compose版本不提供安全模式）
+ * @packageName: com.yisan.library.listener
+ */
+public interface OnSecureGestureLockListener {
+
+    /**
+     * 监听视图解锁开始
+     */
+    void onStarted();
+
+    /**
+     * 图案解锁内容改变
+     *
+     * @param pattern 当前图案（只在回调期间有效，不可保存引用）
+     */
+    void onProgress(SecurePattern pattern);
+
+    /**
+     * 图案解锁完成
+     *
+     * @param pattern 解锁结果（只在回调期间有效，不可保存引用；需要保留时复制到自行管理的数组并在用完后清零）
+     */
+    void onComplete(SecurePattern pattern);
+}
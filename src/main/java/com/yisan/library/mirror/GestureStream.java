@@ -0,0 +1,67 @@
+package com.yisan.library.mirror;
+
+/**
+ * @description: 手势事件流的二进制格式
+ * <p>
+ * 帧 = varint负载长度 + 若干事件；事件 = 1字节类型 + 参数：
+ * <ul>
+ * <li>{@link #EVENT_STARTED}、{@link #EVENT_ENDED}：无参数</li>
+ * <li>{@link #EVENT_PRESSED}：varint点下标</li>
+ * <li>{@link #EVENT_MOVED}：zigzag varint的x、y增量（坐标按视图边长量化为[0,{@link #POSITION_SCALE}]，相对上一个位置，手势开始时位置归零）</li>
+ * <li>{@link #EVENT_STATUS}：1字节状态</li>
+ * </ul>
+ * @packageName: com.yisan.library.mirror
+ */
+final class GestureStream {
+
+    static final int EVENT_STARTED = 1;
+    static final int EVENT_PRESSED = 2;
+    static final int EVENT_MOVED = 3;
+    static final int EVENT_ENDED = 4;
+    static final int EVENT_STATUS = 5;
+
+    /**
+     * 坐标量化精度（视图边长对应的单位数，1080像素的视图约0.26像素一个单位）
+     */
+    static final int POSITION_SCALE = 4096;
+    /**
+     * 最大帧负载长度（解码时超过该长度视为数据损坏）
+     */
+    static final int MAX_FRAME_LENGTH = 1 << 16;
+
+    private GestureStream() {
+    }
+
+    /**
+     * 写入varint（每字节7位，最高位表示后面还有字节）
+     *
+     * @return 写入后的位置
+     */
+    static int writeVarint(byte[] buffer, int position, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+        return position;
+    }
+
+    /**
+     * zigzag编码（小的负数也编码为小的非负数）
+     */
+    static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * 量化坐标
+     */
+    static int quantize(float ratio) {
+        int value = Math.round(ratio * POSITION_SCALE);
+        return value < 0 ? 0 : Math.min(value, POSITION_SCALE);
+    }
+}
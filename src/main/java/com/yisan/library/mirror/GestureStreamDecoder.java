@@ -0,0 +1,148 @@
+package com.yisan.library.mirror;
+
+/**
+ * @description: 手势事件流解码器（接收任意切分的字节流，每凑齐一帧就解码并回调监听器；通常用于驱动只读的镜像视图）
+ * @packageName: com.yisan.library.mirror
+ */
+public final class GestureStreamDecoder {
+
+    private final GestureStreamListener mListener;
+    /**
+     * 未凑齐一帧的字节 & 字节数
+     */
+    private byte[] mPending = new byte[256];
+    private int mPendingLength;
+    /**
+     * 解码位置（解码帧负载时使用）
+     */
+    private int mPosition;
+    /**
+     * 上一个量化位置
+     */
+    private int mLastX;
+    private int mLastY;
+
+    /**
+     * @param listener 事件监听器（如{@link com.yisan.library.GestureLockView#getMirrorListener()}）
+     */
+    public GestureStreamDecoder(GestureStreamListener listener) {
+        mListener = listener;
+    }
+
+    /**
+     * 输入字节流（在监听器所需的线程调用，镜像视图需在UI线程调用）
+     *
+     * @param data   数据
+     * @param offset 起始位置
+     * @param length 字节数
+     * @throws IllegalArgumentException 数据损坏（此后需调用{@link #reset()}并从新的流开始）
+     */
+    public void feed(byte[] data, int offset, int length) {
+        // 1.追加到未完成的字节之后
+        if (mPendingLength + length > mPending.length) {
+            byte[] pending = new byte[Math.max(mPending.length * 2, mPendingLength + length)];
+            System.arraycopy(mPending, 0, pending, 0, mPendingLength);
+            mPending = pending;
+        }
+        System.arraycopy(data, offset, mPending, mPendingLength, length);
+        mPendingLength += length;
+        // 2.逐帧解码
+        int start = 0;
+        while (true) {
+            mPosition = start;
+            int frameLength = readFrameLength();
+            if (frameLength < 0 || mPosition + frameLength > mPendingLength) {
+                break;
+            }
+            int end = mPosition + frameLength;
+            while (mPosition < end) {
+                decodeEvent(end);
+            }
+            mListener.onFrameEnd();
+            start = end;
+        }
+        // 3.保留未凑齐的字节
+        mPendingLength -= start;
+        System.arraycopy(mPending, start, mPending, 0, mPendingLength);
+    }
+
+    /**
+     * 丢弃未完成的字节（重新连接时调用）
+     */
+    public void reset() {
+        mPendingLength = 0;
+        mLastX = 0;
+        mLastY = 0;
+    }
+
+    /**
+     * 读取帧长度前缀
+     *
+     * @return 帧负载长度，字节不足时返回-1
+     */
+    private int readFrameLength() {
+        int value = 0;
+        for (int shift = 0; mPosition < mPendingLength; shift += 7) {
+            byte b = mPending[mPosition++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                if (value > GestureStream.MAX_FRAME_LENGTH) {
+                    throw new IllegalArgumentException("frame too long: " + value);
+                }
+                return value;
+            }
+            if (shift >= 14) {
+                throw new IllegalArgumentException("malformed frame length");
+            }
+        }
+        return -1;
+    }
+
+    private void decodeEvent(int end) {
+        int event = mPending[mPosition++];
+        switch (event) {
+            case GestureStream.EVENT_STARTED:
+                mLastX = 0;
+                mLastY = 0;
+                mListener.onGestureStarted();
+                break;
+            case GestureStream.EVENT_PRESSED:
+                mListener.onPointPressed(readVarint(end));
+                break;
+            case GestureStream.EVENT_MOVED:
+                mLastX += GestureStream.unzigzag(readVarint(end));
+                mLastY += GestureStream.unzigzag(readVarint(end));
+                mListener.onTouchMoved((float) mLastX / GestureStream.POSITION_SCALE,
+                        (float) mLastY / GestureStream.POSITION_SCALE);
+                break;
+            case GestureStream.EVENT_ENDED:
+                mListener.onGestureEnded();
+                break;
+            case GestureStream.EVENT_STATUS:
+                checkAvailable(end);
+                mListener.onStatusChanged(mPending[mPosition++]);
+                break;
+            default:
+                throw new IllegalArgumentException("unknown event: " + event);
+        }
+    }
+
+    private int readVarint(int end) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            checkAvailable(end);
+            byte b = mPending[mPosition++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("malformed varint");
+    }
+
+    private void checkAvailable(int end) {
+        if (mPosition >= end) {
+            throw new IllegalArgumentException("truncated event");
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.yisan.library.mirror;
+
+import java.util.Arrays;
+
+/**
+ * @description: 手势事件流编码器（事件写入复用的缓冲区，每批事件结束时输出一帧；同一帧内连续的移动事件合并为一个）
+ * @packageName: com.yisan.library.mirror
+ */
+public final class GestureStreamEncoder implements GestureStreamListener {
+
+    /**
+     * 帧输出
+     */
+    public interface FrameSink {
+
+        /**
+         * 输出一帧（buffer在回调返回后会被复用，需要保留时自行复制）
+         *
+         * @param buffer 帧数据（包含varint长度前缀）
+         * @param offset 起始位置
+         * @param length 字节数
+         */
+        void onFrame(byte[] buffer, int offset, int length);
+    }
+
+    /**
+     * varint长度前缀最多占用的字节数（帧负载不超过{@link GestureStream#MAX_FRAME_LENGTH}）
+     */
+    private static final int HEADER_SIZE = 3;
+    /**
+     * 单个事件最多占用的字节数（类型 + 两个varint）
+     */
+    private static final int MAX_EVENT_SIZE = 1 + 5 + 5;
+
+    private final FrameSink mSink;
+    /**
+     * 帧缓冲区（前HEADER_SIZE字节预留给长度前缀）& 当前写入位置
+     */
+    private byte[] mBuffer = new byte[256];
+    private int mPosition = HEADER_SIZE;
+    /**
+     * 上一个已编码的量化位置
+     */
+    private int mLastX;
+    private int mLastY;
+    /**
+     * 本帧最后一个事件为移动事件时该事件的起始位置及其之前的量化位置（用于合并），否则为-1
+     */
+    private int mMoveOffset = -1;
+    private int mMoveBaseX;
+    private int mMoveBaseY;
+
+    /**
+     * @param sink 帧输出
+     */
+    public GestureStreamEncoder(FrameSink sink) {
+        mSink = sink;
+    }
+
+    @Override
+    public void onGestureStarted() {
+        writeEvent(GestureStream.EVENT_STARTED);
+        mLastX = 0;
+        mLastY = 0;
+    }
+
+    @Override
+    public void onPointPressed(int cell) {
+        ensureCapacity();
+        mBuffer[mPosition++] = GestureStream.EVENT_PRESSED;
+        mPosition = GestureStream.writeVarint(mBuffer, mPosition, cell);
+        mMoveOffset = -1;
+    }
+
+    @Override
+    public void onTouchMoved(float x, float y) {
+        int qx = GestureStream.quantize(x);
+        int qy = GestureStream.quantize(y);
+        // 1.本帧上一个事件也是移动事件时覆盖它（镜像只需要最终位置）
+        if (mMoveOffset >= 0) {
+            mPosition = mMoveOffset;
+            mLastX = mMoveBaseX;
+            mLastY = mMoveBaseY;
+        } else if (qx == mLastX && qy == mLastY) {
+            return;
+        }
+        // 2.写入相对上一个位置的增量
+        ensureCapacity();
+        mMoveOffset = mPosition;
+        mMoveBaseX = mLastX;
+        mMoveBaseY = mLastY;
+        mBuffer[mPosition++] = GestureStream.EVENT_MOVED;
+        mPosition = GestureStream.writeVarint(mBuffer, mPosition, GestureStream.zigzag(qx - mLastX));
+        mPosition = GestureStream.writeVarint(mBuffer, mPosition, GestureStream.zigzag(qy - mLastY));
+        mLastX = qx;
+        mLastY = qy;
+    }
+
+    @Override
+    public void onGestureEnded() {
+        writeEvent(GestureStream.EVENT_ENDED);
+    }
+
+    @Override
+    public void onStatusChanged(byte status) {
+        ensureCapacity();
+        mBuffer[mPosition++] = GestureStream.EVENT_STATUS;
+        mBuffer[mPosition++] = status;
+        mMoveOffset = -1;
+    }
+
+    /**
+     * 输出当前帧（没有事件时不输出）
+     */
+    @Override
+    public void onFrameEnd() {
+        int length = mPosition - HEADER_SIZE;
+        if (length == 0) {
+            return;
+        }
+        // 长度前缀紧贴负载写在预留区的末尾
+        int headerSize = length < 1 << 7 ? 1 : length < 1 << 14 ? 2 : 3;
+        int offset = HEADER_SIZE - headerSize;
+        GestureStream.writeVarint(mBuffer, offset, length);
+        mPosition = HEADER_SIZE;
+        mMoveOffset = -1;
+        mSink.onFrame(mBuffer, offset, headerSize + length);
+    }
+
+    /**
+     * 清零帧缓冲区并丢弃未输出的事件（安全模式下清理视图时调用，缓冲区中不再残留已编码的图案）
+     */
+    public void wipe() {
+        Arrays.fill(mBuffer, (byte) 0);
+        mPosition = HEADER_SIZE;
+        mLastX = 0;
+        mLastY = 0;
+        mMoveOffset = -1;
+        mMoveBaseX = 0;
+        mMoveBaseY = 0;
+    }
+
+    private void writeEvent(int event) {
+        ensureCapacity();
+        mBuffer[mPosition++] = (byte) event;
+        mMoveOffset = -1;
+    }
+
+    /**
+     * 保证缓冲区能再写入一个事件（帧负载达到上限时先输出当前帧）
+     */
+    private void ensureCapacity() {
+        if (mPosition - HEADER_SIZE + MAX_EVENT_SIZE > GestureStream.MAX_FRAME_LENGTH) {
+            onFrameEnd();
+        }
+        if (mPosition + MAX_EVENT_SIZE > mBuffer.length) {
+            byte[] buffer = new byte[Math.min(mBuffer.length * 2, HEADER_SIZE + GestureStream.MAX_FRAME_LENGTH)];
+            System.arraycopy(mBuffer, 0, buffer, 0, mPosition);
+            mBuffer = buffer;
+        }
+    }
+}
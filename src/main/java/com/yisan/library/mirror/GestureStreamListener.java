@@ -0,0 +1,49 @@
+package com.yisan.library.mirror;
+
+/**
+ * @description: 手势事件流监听器（GestureLockView输入手势时产生事件；编码器把事件编码为二进制帧，镜像视图按事件还原图案）
+ * <p>
+ * 事件流包含完整的图案（按下的点与触摸位置），安全模式下GestureLockView不再回调{@link #onPointPressed}与{@link #onTouchMoved}；
+ * 开启安全模式前已经输出的帧不受保护
+ * @packageName: com.yisan.library.mirror
+ */
+public interface GestureStreamListener {
+
+    /**
+     * 手势开始（清除之前的图案）
+     */
+    void onGestureStarted();
+
+    /**
+     * 点被按下（包括自动补充的中间点）
+     *
+     * @param cell 点下标
+     */
+    void onPointPressed(int cell);
+
+    /**
+     * 触摸位置变化（连线末端跟随的位置）
+     *
+     * @param x x坐标与视图边长之比[0,1]
+     * @param y y坐标与视图边长之比[0,1]
+     */
+    void onTouchMoved(float x, float y);
+
+    /**
+     * 手势结束（手指抬起）
+     */
+    void onGestureEnded();
+
+    /**
+     * 状态变化
+     *
+     * @param status {@link com.yisan.library.model.PointArray#POINT_ERROR_STATUS}显示错误状态，
+     *               {@link com.yisan.library.model.PointArray#POINT_NORMAL_STATUS}清除图案
+     */
+    void onStatusChanged(byte status);
+
+    /**
+     * 一批事件结束（每个触摸事件或状态变化之后回调一次，可在此发送或重绘）
+     */
+    void onFrameEnd();
+}
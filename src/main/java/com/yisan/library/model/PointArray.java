@@ -0,0 +1,168 @@
+package com.yisan.library.model;
+
+/**
+ * @description: 点集合（以基本类型数组按点下标存储坐标、半径与状态）
+ * @packageName: com.yisan.library.model
+ */
+public final class PointArray implements PointTable {
+    /**
+     * 正常状态
+     */
+    public static final byte POINT_NORMAL_STATUS = 0x01;
+    /**
+     * 按下状态
+     */
+    public static final byte POINT_PRESS_STATUS = 0x02;
+    /**
+     * 出错状态
+     */
+    public static final byte POINT_ERROR_STATUS = 0x03;
+
+    /**
+     * x坐标 & y坐标 & 半径（数组下标即点下标，用于解锁完成后把手势密码转换成数字密码）
+     */
+    private final float[] mX;
+    private final float[] mY;
+    private final float[] mRadius;
+    /**
+     * 布局给出的基础半径（缩放动画结束及清理后恢复到该半径）
+     */
+    private final float[] mBaseRadius;
+    /**
+     * 点的状态
+     */
+    private final byte[] mStatus;
+    /**
+     * 按下顺序（记录已被按下的点下标，按无符号字节读取）
+     */
+    private final byte[] mPressCells;
+    private int mPressCount;
+
+    /**
+     * @param size 点的数量
+     */
+    public PointArray(int size) {
+        mX = new float[size];
+        mY = new float[size];
+        mRadius = new float[size];
+        mBaseRadius = new float[size];
+        mStatus = new byte[size];
+        mPressCells = new byte[size];
+        for (int i = 0; i < size; i++) {
+            mStatus[i] = POINT_NORMAL_STATUS;
+        }
+    }
+
+    @Override
+    public int size() {
+        return mStatus.length;
+    }
+
+    @Override
+    public float getX(int cell) {
+        return mX[cell];
+    }
+
+    @Override
+    public float getY(int cell) {
+        return mY[cell];
+    }
+
+    @Override
+    public float getRadius(int cell) {
+        return mRadius[cell];
+    }
+
+    @Override
+    public byte getStatus(int cell) {
+        return mStatus[cell];
+    }
+
+    @Override
+    public int getPressCount() {
+        return mPressCount;
+    }
+
+    @Override
+    public int getPressCell(int order) {
+        return mPressCells[order] & 0xFF;
+    }
+
+    /**
+     * 设置点的坐标
+     */
+    public void setPosition(int cell, float x, float y) {
+        mX[cell] = x;
+        mY[cell] = y;
+    }
+
+    /**
+     * 设置点的半径
+     */
+    public void setRadius(int cell, float radius) {
+        mRadius[cell] = radius;
+    }
+
+    /**
+     * 设置点的基础半径（同时设置当前半径）
+     */
+    public void setBaseRadius(int cell, float radius) {
+        mBaseRadius[cell] = radius;
+        mRadius[cell] = radius;
+    }
+
+    /**
+     * 获取点的基础半径
+     */
+    public float getBaseRadius(int cell) {
+        return mBaseRadius[cell];
+    }
+
+    /**
+     * 判断点是否已被按下（按下状态或出错状态）
+     */
+    public boolean isPressed(int cell) {
+        return mStatus[cell] != POINT_NORMAL_STATUS;
+    }
+
+    /**
+     * 按下点（追加至按下顺序末尾）
+     *
+     * @param cell   点下标
+     * @param status 按下后点的状态
+     */
+    public void press(int cell, byte status) {
+        mStatus[cell] = status;
+        mPressCells[mPressCount++] = (byte) cell;
+    }
+
+    /**
+     * 修改所有已按下点的状态
+     */
+    public void setPressStatus(byte status) {
+        for (int i = 0; i < mPressCount; i++) {
+            mStatus[mPressCells[i] & 0xFF] = status;
+        }
+    }
+
+    /**
+     * 清理至初始状态（半径恢复为基础半径，按下顺序清零）
+     */
+    public void reset() {
+        for (int i = 0; i < mStatus.length; i++) {
+            mStatus[i] = POINT_NORMAL_STATUS;
+            mRadius[i] = mBaseRadius[i];
+        }
+        wipePressCells();
+    }
+
+    /**
+     * 清零按下顺序（清理后堆内存中不保留上一次的图案）
+     */
+    private void wipePressCells() {
+        for (int i = 0; i < mPressCount; i++) {
+            mPressCells[i] = 0;
+        }
+        mPressCount = 0;
+    }
+}
@@ -0,0 +1,53 @@
+package com.yisan.library.model;
+
+/**
+ * @description: 点集合只读视图（供Painter读取点的坐标、半径、状态及按下顺序）
+ * @packageName: com.yisan.library.model
+ */
+public interface PointTable {
+
+    /**
+     * 点的数量
+     */
+    int size();
+
+    /**
+     * 点的x坐标
+     *
+     * @param cell 点下标
+     */
+    float getX(int cell);
+
+    /**
+     * 点的y坐标
+     *
+     * @param cell 点下标
+     */
+    float getY(int cell);
+
+    /**
+     * 点的半径（动画过程中会改变）
+     *
+     * @param cell 点下标
+     */
+    float getRadius(int cell);
+
+    /**
+     * 点的状态
+     *
+     * @param cell 点下标
+     */
+    byte getStatus(int cell);
+
+    /**
+     * 已按下点的数量
+     */
+    int getPressCount();
+
+    /**
+     * 第order个按下的点下标
+     *
+     * @param order 按下顺序（取值范围[0,getPressCount())）
+     */
+    int getPressCell(int order);
+}
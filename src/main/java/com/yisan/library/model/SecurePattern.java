@@ -0,0 +1,46 @@
+package com.yisan.library.model;
+
+/**
+ * @description: 手势图案的只读视图（直接读取视图内部复用的基本类型缓冲区，不产生String副本；只在监听器回调期间有效，回调返回后读取会抛出IllegalStateException）
+ * @packageName: com.yisan.library.model
+ */
+public interface SecurePattern {
+
+    /**
+     * 已按下点的数量
+     */
+    int length();
+
+    /**
+     * 第index个按下的点下标
+     *
+     * @param index 按下顺序（取值范围[0,length())）
+     */
+    int getCell(int index);
+
+    /**
+     * 复制点下标序列（用完后调用方应自行清零dest）
+     *
+     * @param dest   目标数组（长度不小于offset + length()）
+     * @param offset 起始位置
+     */
+    void copyTo(byte[] dest, int offset);
+
+    /**
+     * 以密码形式复制（每个点对应字符'0' + 点下标，与{@link com.yisan.library.listener.OnGestureLockListener}的结果一致，
+     * 可直接用于PBEKeySpec等接受char[]的接口；用完后调用方应自行清零dest）
+     *
+     * @param dest   目标数组（长度不小于offset + length()）
+     * @param offset 起始位置
+     */
+    void copyCharsTo(char[] dest, int offset);
+
+    /**
+     * 以固定耗时比较图案（耗时只与length有关，不因第一个不同的点提前返回）
+     *
+     * @param cells  点下标序列
+     * @param offset 起始位置
+     * @param length 点数量
+     */
+    boolean matches(byte[] cells, int offset, int length);
+}
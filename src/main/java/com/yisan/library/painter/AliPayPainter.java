@@ -4,9 +4,8 @@ import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Path;
 
-import com.yisan.library.model.Point;
-
-import java.util.List;
+import com.yisan.library.model.PointArray;
+import com.yisan.library.model.PointTable;
 
 /**
  * @ClassName: AliPayPainter
@@ -20,99 +19,119 @@ public class AliPayPainter extends Painter {
     /**
      * 绘制正常状态的点
      *
-     * @param point       单位点
+     * @param x           点的x坐标
+     * @param y           点的y坐标
+     * @param radius      点的半径
      * @param canvas      画布
      * @param normalPaint 正常状态画笔
      */
     @Override
-    public void drawNormalPoint(Point point, Canvas canvas, Paint normalPaint) {
+    public void drawNormalPoint(float x, float y, float radius, Canvas canvas, Paint normalPaint) {
         // 1.绘制圆形轮廓边界
         normalPaint.setStyle(Paint.Style.STROKE);
-        normalPaint.setStrokeWidth(point.radius / 30.0F);
-        canvas.drawCircle(point.x, point.y, point.radius, normalPaint);
+        normalPaint.setStrokeWidth(radius / 30.0F);
+        canvas.drawCircle(x, y, radius, normalPaint);
     }
 
     /**
      * 绘制按下状态的点
      *
-     * @param point      单位点
+     * @param x          点的x坐标
+     * @param y          点的y坐标
+     * @param radius     点的半径
      * @param canvas     画布
      * @param pressPaint 按下状态画笔
      */
     @Override
-    public void drawPressPoint(Point point, Canvas canvas, Paint pressPaint) {
+    public void drawPressPoint(float x, float y, float radius, Canvas canvas, Paint pressPaint) {
         // 1.绘制实心点
         pressPaint.setStyle(Paint.Style.FILL);
-        canvas.drawCircle(point.x, point.y, point.radius / 3.0F, pressPaint);
+        canvas.drawCircle(x, y, radius / 3.0F, pressPaint);
         // 2.绘制圆形轮廓边界
         pressPaint.setStyle(Paint.Style.STROKE);
-        pressPaint.setStrokeWidth(point.radius / 20.0F);
-        canvas.drawCircle(point.x, point.y, point.radius, pressPaint);
+        pressPaint.setStrokeWidth(radius / 20.0F);
+        canvas.drawCircle(x, y, radius, pressPaint);
     }
 
     /**
      * 绘制出错状态的点
      *
-     * @param point      单位点
+     * @param x          点的x坐标
+     * @param y          点的y坐标
+     * @param radius     点的半径
      * @param canvas     画布
      * @param errorPaint 错误状态画笔
      */
     @Override
-    public void drawErrorPoint(Point point, Canvas canvas, Paint errorPaint) {
+    public void drawErrorPoint(float x, float y, float radius, Canvas canvas, Paint errorPaint) {
         // 1.绘制实心点
         errorPaint.setStyle(Paint.Style.FILL);
-        canvas.drawCircle(point.x, point.y, point.radius / 3.0F, errorPaint);
+        canvas.drawCircle(x, y, radius / 3.0F, errorPaint);
         // 2.绘制圆形轮廓边界
         errorPaint.setStyle(Paint.Style.STROKE);
-        errorPaint.setStrokeWidth(point.radius / 20.0F);
-        canvas.drawCircle(point.x, point.y, point.radius, errorPaint);
+        errorPaint.setStrokeWidth(radius / 20.0F);
+        canvas.drawCircle(x, y, radius, errorPaint);
     }
 
     /**
      * 绘制连线
      *
-     * @param points   点集合（已被按下记录的点）
+     * @param context  绘制上下文
+     * @param points   点集合（按按下顺序连线）
      * @param eventX   事件X坐标（当前触摸位置）
      * @param eventY   事件Y坐标（当前触摸位置）
      * @param lineSize 线的粗细值
      * @param canvas   画布
      */
     @Override
-    public void drawLines(List<Point> points, float eventX, float eventY, int lineSize, Canvas canvas) {
-        super.drawLines(points, eventX, eventY, lineSize, canvas);
+    public void drawLines(PainterContext context, PointTable points, float eventX, float eventY, int lineSize,
+                          Canvas canvas) {
+        super.drawLines(context, points, eventX, eventY, lineSize, canvas);
+        // 降低绘制质量时不绘制箭头
+        if (context.isReducedQuality()) {
+            return;
+        }
         // 绘制三角箭头（又重新复习了一遍三角函数...╮(╯▽╰)╭）
         // 1.三角函数运算,确定3个顶点坐标
-        int radius = getGestureLockView().getRadius();
-        for (int i = 0; i < points.size() - 1; i++) {
-            Point prePoint = points.get(i);
-            Point nextPoint = points.get(i + 1);
-            int dx = nextPoint.x - prePoint.x;
-            int dy = nextPoint.y - prePoint.y;
-            int x1 = prePoint.x + (int) (2 * radius / 3 * dx / Math.sqrt(dx * dx + dy * dy));
-            int y1 = prePoint.y + (int) (2 * radius / 3 * dy / Math.sqrt(dx * dx + dy * dy));
-            int x2 = prePoint.x + (int) (radius / 2 * dx / Math.sqrt(dx * dx + dy * dy));
-            int y2 = prePoint.y + (int) (radius / 2 * dy / Math.sqrt(dx * dx + dy * dy));
-            int border = (int) Math.sqrt((x1 - x2) * (x1 - x2) + (y1 - y2) * (y1 - y2));
-            int distanceY = (int) (border * dx / Math.sqrt(dx * dx + dy * dy));
-            int distanceX = (int) (border * dy / Math.sqrt(dx * dx + dy * dy));
+        for (int i = 0; i < points.getPressCount() - 1; i++) {
+            int preCell = points.getPressCell(i);
+            // 未设置基础半径时以点的当前半径代替
+            float radius = context.getRadius() > 0 ? context.getRadius() : points.getRadius(preCell);
+            int nextCell = points.getPressCell(i + 1);
+            float preX = points.getX(preCell);
+            float preY = points.getY(preCell);
+            float dx = points.getX(nextCell) - preX;
+            float dy = points.getY(nextCell) - preY;
+            float distance = (float) Math.sqrt(dx * dx + dy * dy);
+            float x1 = preX + 2 * radius / 3 * dx / distance;
+            float y1 = preY + 2 * radius / 3 * dy / distance;
+            float x2 = preX + radius / 2 * dx / distance;
+            float y2 = preY + radius / 2 * dy / distance;
+            float border = (float) Math.sqrt((x1 - x2) * (x1 - x2) + (y1 - y2) * (y1 - y2));
+            float distanceY = border * dx / distance;
+            float distanceX = border * dy / distance;
             // 2.记录三角形3个顶点坐标(第3个顶点是(x1,y1))
-            int top1_x = x2 + distanceX;
-            int top1_y = y2 - distanceY;
-            int top2_x = x2 - distanceX;
-            int top2_y = y2 + distanceY;
+            float top1_x = x2 + distanceX;
+            float top1_y = y2 - distanceY;
+            float top2_x = x2 - distanceX;
+            float top2_y = y2 + distanceY;
             // 3.生成三角形路径
-            Path path = new Path();
+            Path path = context.getScratchPath();
+            path.rewind();
             path.moveTo(top1_x, top1_y);
             path.lineTo(top2_x, top2_y);
             path.lineTo(x1, y1);
             path.close();
             // 4.区分点状态绘制路径
-            if (prePoint.status == Point.POINT_PRESS_STATUS) { // 按下状态
+            byte status = points.getStatus(preCell);
+            if (status == PointArray.POINT_PRESS_STATUS) { // 按下状态
+                Paint pressPaint = context.getPressPaint();
                 Paint.Style style = pressPaint.getStyle();
                 pressPaint.setStyle(Paint.Style.FILL);
                 canvas.drawPath(path, pressPaint);
                 pressPaint.setStyle(style);
-            } else if (prePoint.status == Point.POINT_ERROR_STATUS) { // 出错状态
+            } else if (status == PointArray.POINT_ERROR_STATUS) { // 出错状态
+                Paint errorPaint = context.getErrorPaint();
                 Paint.Style style = errorPaint.getStyle();
                 errorPaint.setStyle(Paint.Style.FILL);
                 canvas.drawPath(path, errorPaint);
@@ -120,4 +139,21 @@ public class AliPayPainter extends Painter {
             }
         }
     }
+
+    /**
+     * 批量绘制同一状态的点（每一层图形合并为一次绘制）
+     */
+    @Override
+    public void drawPointBatch(PainterContext context, byte status, float[] coords, float[] radii, int count,
+                               Canvas canvas, Paint paint) {
+        if (status == PointArray.POINT_NORMAL_STATUS) {
+            // 1.绘制圆形轮廓边界
+            strokeCircles(context, coords, radii, count, 1.0F, 1 / 30.0F, canvas, paint);
+        } else {
+            // 1.绘制实心点
+            fillCircles(context, coords, radii, count, 1 / 3.0F, canvas, paint);
+            // 2.绘制圆形轮廓边界
+            strokeCircles(context, coords, radii, count, 1.0F, 1 / 20.0F, canvas, paint);
+        }
+    }
 }
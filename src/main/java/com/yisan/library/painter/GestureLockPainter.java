@@ -3,7 +3,7 @@ package com.yisan.library.painter;
 import android.graphics.Canvas;
 import android.graphics.Paint;
 
-import com.yisan.library.model.Point;
+import com.yisan.library.model.PointArray;
 
 /**
  * @author：wzh
@@ -14,50 +14,67 @@ import com.yisan.library.model.Point;
 public class GestureLockPainter extends Painter {
 
     @Override
-    public void drawErrorPoint(Point point, Canvas canvas, Paint errorPaint) {
+    public void drawErrorPoint(float x, float y, float radius, Canvas canvas, Paint errorPaint) {
         // 1.记录画笔的原始属性（绘制过程中需要修改的属性）,绘制结束时进行还原
         Paint.Style style = errorPaint.getStyle();
         float originStrokeWidth = errorPaint.getStrokeWidth();
         // 2.绘制实心点
         errorPaint.setStyle(Paint.Style.FILL);
-        canvas.drawCircle(point.x, point.y, point.radius / 3, errorPaint);
+        canvas.drawCircle(x, y, radius / 3.0F, errorPaint);
         // 3.绘制空心圆
         errorPaint.setStyle(Paint.Style.STROKE);
-        errorPaint.setStrokeWidth(point.radius / 16);
-        canvas.drawCircle(point.x, point.y, point.radius, errorPaint);
+        errorPaint.setStrokeWidth(radius / 16.0F);
+        canvas.drawCircle(x, y, radius, errorPaint);
         // 4.结束绘制，还原画笔属性
         errorPaint.setStyle(style);
         errorPaint.setStrokeWidth(originStrokeWidth);
     }
 
     @Override
-    public void drawPressPoint(Point point, Canvas canvas, Paint pressPaint) {
+    public void drawPressPoint(float x, float y, float radius, Canvas canvas, Paint pressPaint) {
         // 1.记录画笔的原始属性（绘制过程中需要修改的属性）,绘制结束时进行还原
         Paint.Style style = pressPaint.getStyle();
         float originStrokeWidth = pressPaint.getStrokeWidth();
         // 2.绘制实心点
         pressPaint.setStyle(Paint.Style.FILL);
-        canvas.drawCircle(point.x, point.y, point.radius / 3, pressPaint);
+        canvas.drawCircle(x, y, radius / 3.0F, pressPaint);
         // 3.绘制空心圆边界
         pressPaint.setStyle(Paint.Style.STROKE);
-        pressPaint.setStrokeWidth(point.radius / 16);
-        canvas.drawCircle(point.x, point.y, point.radius, pressPaint);
+        pressPaint.setStrokeWidth(radius / 16.0F);
+        canvas.drawCircle(x, y, radius, pressPaint);
         // 4.结束绘制，还原画笔属性
         pressPaint.setStyle(style);
         pressPaint.setStrokeWidth(originStrokeWidth);
     }
 
     @Override
-    public void drawNormalPoint(Point point, Canvas canvas, Paint normalPaint) {
+    public void drawNormalPoint(float x, float y, float radius, Canvas canvas, Paint normalPaint) {
         // 1.记录画笔的原始属性（绘制过程中需要修改的属性）,绘制结束时进行还原
         Paint.Style style = normalPaint.getStyle();
         float originStrokeWidth = normalPaint.getStrokeWidth();
         // 2.绘制空心圆边界
         normalPaint.setStyle(Paint.Style.STROKE);
-        normalPaint.setStrokeWidth(point.radius / 32);
-        canvas.drawCircle(point.x, point.y, point.radius, normalPaint);
+        normalPaint.setStrokeWidth(radius / 32.0F);
+        canvas.drawCircle(x, y, radius, normalPaint);
         // 3.结束绘制，还原画笔属性
         normalPaint.setStyle(style);
         normalPaint.setStrokeWidth(originStrokeWidth);
     }
+
+    /**
+     * 批量绘制同一状态的点（每一层图形合并为一次绘制，画笔属性由fillCircles/strokeCircles还原）
+     */
+    @Override
+    public void drawPointBatch(PainterContext context, byte status, float[] coords, float[] radii, int count,
+                               Canvas canvas, Paint paint) {
+        if (status == PointArray.POINT_NORMAL_STATUS) {
+            // 1.绘制空心圆边界
+            strokeCircles(context, coords, radii, count, 1.0F, 1 / 32.0F, canvas, paint);
+        } else {
+            // 1.绘制实心点
+            fillCircles(context, coords, radii, count, 1 / 3.0F, canvas, paint);
+            // 2.绘制空心圆边界
+            strokeCircles(context, coords, radii, count, 1.0F, 1 / 16.0F, canvas, paint);
+        }
+    }
 }
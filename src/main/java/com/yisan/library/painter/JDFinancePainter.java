@@ -3,7 +3,7 @@ package com.yisan.library.painter;
 import android.graphics.Canvas;
 import android.graphics.Paint;
 
-import com.yisan.library.model.Point;
+import com.yisan.library.model.PointArray;
 
 
 /**
@@ -18,47 +18,69 @@ public class JDFinancePainter extends Painter {
     /**
      * 绘制正常状态的点
      *
-     * @param point       单位点
+     * @param x           点的x坐标
+     * @param y           点的y坐标
+     * @param radius      点的半径
      * @param canvas      画布
      * @param normalPaint 正常状态画笔
      */
     @Override
-    public void drawNormalPoint(Point point, Canvas canvas, Paint normalPaint) {
+    public void drawNormalPoint(float x, float y, float radius, Canvas canvas, Paint normalPaint) {
         // 1.绘制实心圆
-        canvas.drawCircle(point.x, point.y, point.radius / 3.0F, normalPaint);
+        canvas.drawCircle(x, y, radius / 3.0F, normalPaint);
     }
 
     /**
      * 绘制按下状态的点
      *
-     * @param point      单位点
+     * @param x          点的x坐标
+     * @param y          点的y坐标
+     * @param radius     点的半径
      * @param canvas     画布
      * @param pressPaint 按下状态画笔
      */
     @Override
-    public void drawPressPoint(Point point, Canvas canvas, Paint pressPaint) {
+    public void drawPressPoint(float x, float y, float radius, Canvas canvas, Paint pressPaint) {
         // 1.改变透明度绘制外层实心圆
         pressPaint.setAlpha(32);
-        canvas.drawCircle(point.x, point.y, point.radius, pressPaint);
+        canvas.drawCircle(x, y, radius, pressPaint);
         // 2.还原透明度绘制内存实心圆
         pressPaint.setAlpha(255);
-        canvas.drawCircle(point.x, point.y, point.radius / 3.0F, pressPaint);
+        canvas.drawCircle(x, y, radius / 3.0F, pressPaint);
     }
 
     /**
      * 绘制出错状态的点
      *
-     * @param point      单位点
+     * @param x          点的x坐标
+     * @param y          点的y坐标
+     * @param radius     点的半径
      * @param canvas     画布
      * @param errorPaint 错误状态画笔
      */
     @Override
-    public void drawErrorPoint(Point point, Canvas canvas, Paint errorPaint) {
+    public void drawErrorPoint(float x, float y, float radius, Canvas canvas, Paint errorPaint) {
         // 1.改变透明度绘制外层实心圆
         errorPaint.setAlpha(32);
-        canvas.drawCircle(point.x, point.y, point.radius, errorPaint);
+        canvas.drawCircle(x, y, radius, errorPaint);
         // 2.还原透明度绘制内存实心圆
         errorPaint.setAlpha(255);
-        canvas.drawCircle(point.x, point.y, point.radius / 3.0F, errorPaint);
+        canvas.drawCircle(x, y, radius / 3.0F, errorPaint);
+    }
+
+    /**
+     * 批量绘制同一状态的点（每一层图形合并为一次绘制）
+     */
+    @Override
+    public void drawPointBatch(PainterContext context, byte status, float[] coords, float[] radii, int count,
+                               Canvas canvas, Paint paint) {
+        if (status != PointArray.POINT_NORMAL_STATUS) {
+            // 1.改变透明度绘制外层实心圆
+            paint.setAlpha(32);
+            fillCircles(context, coords, radii, count, 1.0F, canvas, paint);
+            paint.setAlpha(255);
+        }
+        // 2.绘制内层实心圆
+        fillCircles(context, coords, radii, count, 1 / 3.0F, canvas, paint);
     }
 }
@@ -4,7 +4,7 @@ import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
 
-import com.yisan.library.model.Point;
+import com.yisan.library.model.PointArray;
 
 
 /**
@@ -19,48 +19,76 @@ public class LUcomPainter extends Painter {
     /**
      * 绘制正常状态的点
      *
-     * @param point       单位点
+     * @param x           点的x坐标
+     * @param y           点的y坐标
+     * @param radius      点的半径
      * @param canvas      画布
      * @param normalPaint 正常状态画笔
      */
     @Override
-    public void drawNormalPoint(Point point, Canvas canvas, Paint normalPaint) {
+    public void drawNormalPoint(float x, float y, float radius, Canvas canvas, Paint normalPaint) {
         // 1.绘制实心圆
-        canvas.drawCircle(point.x, point.y, point.radius / 3.0F, normalPaint);
+        canvas.drawCircle(x, y, radius / 3.0F, normalPaint);
     }
 
     /**
      * 绘制按下状态的点
      *
-     * @param point      单位点
+     * @param x          点的x坐标
+     * @param y          点的y坐标
+     * @param radius     点的半径
      * @param canvas     画布
      * @param pressPaint 按下状态画笔
      */
     @Override
-    public void drawPressPoint(Point point, Canvas canvas, Paint pressPaint) {
+    public void drawPressPoint(float x, float y, float radius, Canvas canvas, Paint pressPaint) {
         int originColor = pressPaint.getColor();
         // 1.绘制白色底圆
         pressPaint.setStyle(Paint.Style.FILL);
         pressPaint.setColor(Color.WHITE);
-        canvas.drawCircle(point.x, point.y, point.radius, pressPaint);
+        canvas.drawCircle(x, y, radius, pressPaint);
         // 2.绘制实心点
         pressPaint.setColor(originColor);
-        canvas.drawCircle(point.x, point.y, point.radius / 3.0F, pressPaint);
+        canvas.drawCircle(x, y, radius / 3.0F, pressPaint);
         // 3.绘制外部边界圆
         pressPaint.setStyle(Paint.Style.STROKE);
-        pressPaint.setStrokeWidth(point.radius / 20.0F);
-        canvas.drawCircle(point.x, point.y, point.radius, pressPaint);
+        pressPaint.setStrokeWidth(radius / 20.0F);
+        canvas.drawCircle(x, y, radius, pressPaint);
     }
 
     /**
      * 绘制按下状态的点
      *
-     * @param point      单位点
+     * @param x          点的x坐标
+     * @param y          点的y坐标
+     * @param radius     点的半径
      * @param canvas     画布
      * @param errorPaint 按下状态画笔
      */
     @Override
-    public void drawErrorPoint(Point point, Canvas canvas, Paint errorPaint) {
+    public void drawErrorPoint(float x, float y, float radius, Canvas canvas, Paint errorPaint) {
         // TODO 陆金所没有错误状态的点（如果需要使用绘制错误状态的点，请继承该Painter重写drawErrorPoint方法或重新自定义Painter）
     }
+
+    /**
+     * 批量绘制同一状态的点（每一层图形合并为一次绘制，出错状态不绘制）
+     */
+    @Override
+    public void drawPointBatch(PainterContext context, byte status, float[] coords, float[] radii, int count,
+                               Canvas canvas, Paint paint) {
+        if (status == PointArray.POINT_NORMAL_STATUS) {
+            // 1.绘制实心圆
+            fillCircles(context, coords, radii, count, 1 / 3.0F, canvas, paint);
+        } else if (status == PointArray.POINT_PRESS_STATUS) {
+            int originColor = paint.getColor();
+            // 1.绘制白色底圆
+            paint.setColor(Color.WHITE);
+            fillCircles(context, coords, radii, count, 1.0F, canvas, paint);
+            // 2.绘制实心点
+            paint.setColor(originColor);
+            fillCircles(context, coords, radii, count, 1 / 3.0F, canvas, paint);
+            // 3.绘制外部边界圆
+            strokeCircles(context, coords, radii, count, 1.0F, 1 / 20.0F, canvas, paint);
+        }
+    }
 }
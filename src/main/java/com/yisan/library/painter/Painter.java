@@ -1,26 +1,29 @@
 package com.yisan.library.painter;
 
-import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.Color;
+import android.graphics.LinearGradient;
 import android.graphics.Paint;
 import android.graphics.Path;
+import android.graphics.Shader;
+import android.os.Build;
 
-import com.yisan.library.GestureLockView;
-import com.yisan.library.model.Point;
+import androidx.annotation.IntDef;
 
-import java.util.List;
+import com.yisan.library.model.PointArray;
+import com.yisan.library.model.PointTable;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
 
 /**
  * @author：wzh
- * @description: 绘制者
+ * @description: 绘制者（不保存状态，画笔与缓存保存在各视图的{@link PainterContext}中，同一实例可在多个视图间共享）
  * @packageName: com.yisan.library.painter
  * @date：2020/5/13 0013 上午 11:03
  */
 public abstract class Painter {
 
-    private Context mContext;
-
     // 正常状态画笔颜色
     public static final int NORMAL_COLOR = Color.GRAY;
     // 按压状态画笔颜色
@@ -29,173 +32,552 @@ public abstract class Painter {
     public static final int ERROR_COLOR = Color.RED;
 
     /**
-     * 正常 & 按下 & 错误状态画笔
+     * 连线样式(注解)
      */
-    protected final Paint normalPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-    protected final Paint pressPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-    protected final Paint errorPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    @IntDef({LINE_STYLE_SOLID, LINE_STYLE_GRADIENT})
+    @Retention(RetentionPolicy.SOURCE)
+    public @interface LineStyle {
+    }
+
+    public static final int LINE_STYLE_SOLID = 0x0000; // 纯色连线
+    public static final int LINE_STYLE_GRADIENT = 0x0001; // 渐变连线（颜色随解锁进度变化）
 
     /**
-     * 手势解锁视图
+     * 预热（切换绘制者时在替换前调用，不在绘制过程中执行）
+     * <p>
+     * 默认按点的数量分配批量绘制缓冲区、连线着色器缓存与可变宽度连线的顶点缓冲区，并为当前图案构建连线缓存，子类可重写以提前构建其他缓存
+     *
+     * @param context 绘制上下文
+     * @param points  点集合
      */
-    private GestureLockView mGestureLockView;
-
+    public void prepare(PainterContext context, PointTable points) {
+        context.ensureBatchCapacity(points.size());
+        context.ensureStrokeCapacity(points.size());
+        if (context.lineStyle == LINE_STYLE_GRADIENT) {
+            context.ensureLineShaderCapacity(points.size());
+        }
+        for (int i = 0; i < points.getPressCount() - 1; i++) {
+            commitLineSegment(context, points, i);
+        }
+    }
 
     /**
-     * 关联手势解锁视图
+     * 提交连线段（第order个按下点与第order+1个按下点的连线确定后调用）
+     * <p>
+     * 渐变样式下构建并缓存该段的着色器；可变宽度连线下该段起点的前后两段均已确定，缓存起点处的顶点，绘制时直接复用
      *
-     * @param gestureLockView 手势解锁视图
-     * @param context         上下文环境
-     * @param normalColor     正常状态画笔颜色
-     * @param pressColor      按下状态画笔颜色
-     * @param errorColor      错误状态画笔颜色
+     * @param context 绘制上下文
+     * @param points  点集合
+     * @param order   连线段起点的按下顺序
      */
-    public void attach(GestureLockView gestureLockView, Context context,
-                       int normalColor, int pressColor, int errorColor) {
-        // 1.关联手势解锁视图
-        mGestureLockView = gestureLockView;
-        mContext = context;
-        // 2.设置Painter画笔颜色
-        setNormalColor(normalColor);
-        setPressColor(pressColor);
-        setErrorColor(errorColor);
+    public void commitLineSegment(PainterContext context, PointTable points, int order) {
+        if (context.isVariableWidth) {
+            commitStrokeVertices(context, points, order);
+        }
+        if (context.lineStyle != LINE_STYLE_GRADIENT) {
+            return;
+        }
+        int key = getLineShaderKey(context, points, order);
+        if (key < 0 || (context.lineShaders[key] != null && context.lineShaderOrders[key] == order)) {
+            return;
+        }
+        int fromCell = points.getPressCell(order);
+        int toCell = points.getPressCell(order + 1);
+        int[] colors = getLineColors(context, points.getStatus(fromCell));
+        context.lineShaders[key] = new LinearGradient(
+                points.getX(fromCell), points.getY(fromCell),
+                points.getX(toCell), points.getY(toCell),
+                sampleLineColor(colors, getLineProgress(points, order)),
+                sampleLineColor(colors, getLineProgress(points, order + 1)),
+                Shader.TileMode.CLAMP);
+        context.lineShaderOrders[key] = order;
     }
 
     /**
-     * 设置出错状态画笔颜色
+     * 获取连线段着色器缓存下标（按需分配缓存）
      *
-     * @param errorColor 出错状态画笔颜色 (具体颜色值,不是引用值)
+     * @return 缓存下标，连线段状态不需要绘制时返回-1
      */
-    private void setErrorColor(int errorColor) {
-        errorPaint.setColor(errorColor);
+    private static int getLineShaderKey(PainterContext context, PointTable points, int order) {
+        int fromCell = points.getPressCell(order);
+        int toCell = points.getPressCell(order + 1);
+        int stateIndex;
+        switch (points.getStatus(fromCell)) {
+            case PointArray.POINT_PRESS_STATUS:
+                stateIndex = 0;
+                break;
+            case PointArray.POINT_ERROR_STATUS:
+                stateIndex = 1;
+                break;
+            default:
+                return -1;
+        }
+        int count = points.size();
+        context.ensureLineShaderCapacity(count);
+        return (stateIndex * count + fromCell) * count + toCell;
     }
 
     /**
-     * 设置按下状态画笔颜色
+     * 点绘制方法（先按状态分组，再按状态批量绘制）
      *
-     * @param pressColor 按下状态画笔颜色 (具体颜色值,不是引用值)
+     * @param context 绘制上下文
+     * @param points  点集合（只读）
+     * @param canvas  画布
      */
-    private void setPressColor(int pressColor) {
-        pressPaint.setColor(pressColor);
+    public void drawPoints(PainterContext context, PointTable points, Canvas canvas) {
+        // 1.按状态分组
+        int size = points.size();
+        context.ensureBatchCapacity(size);
+        int[] counts = context.batchCounts;
+        float[][] coords = context.batchCoords;
+        float[][] radii = context.batchRadii;
+        counts[0] = 0;
+        counts[1] = 0;
+        counts[2] = 0;
+        for (int cell = 0; cell < size; cell++) {
+            int index = points.getStatus(cell) - PointArray.POINT_NORMAL_STATUS;
+            if (index < 0 || index >= 3) {
+                continue;
+            }
+            int count = counts[index]++;
+            coords[index][2 * count] = points.getX(cell);
+            coords[index][2 * count + 1] = points.getY(cell);
+            radii[index][count] = points.getRadius(cell);
+        }
+        // 2.按状态批量绘制
+        if (counts[0] > 0) {
+            drawPointBatch(context, PointArray.POINT_NORMAL_STATUS, coords[0], radii[0], counts[0],
+                    canvas, context.normalPaint);
+        }
+        if (counts[1] > 0) {
+            drawPointBatch(context, PointArray.POINT_PRESS_STATUS, coords[1], radii[1], counts[1],
+                    canvas, context.pressPaint);
+        }
+        if (counts[2] > 0) {
+            drawPointBatch(context, PointArray.POINT_ERROR_STATUS, coords[2], radii[2], counts[2],
+                    canvas, context.errorPaint);
+        }
     }
 
     /**
-     * 设置正常状态画笔颜色
+     * 批量绘制同一状态的点
+     * <p>
+     * 默认逐点调用drawNormalPoint/drawPressPoint/drawErrorPoint；点数较多时子类可重写，
+     * 借助{@link #fillCircles}、{@link #strokeCircles}把每一层图形合并为一次绘制
      *
-     * @param normalColor 正常状态画笔颜色 (具体颜色值,不是引用值)
+     * @param context 绘制上下文
+     * @param status  点的状态
+     * @param coords  点坐标（x0,y0,x1,y1...，只读）
+     * @param radii   点半径（只读）
+     * @param count   点的数量
+     * @param canvas  画布
+     * @param paint   该状态的画笔
      */
-    private void setNormalColor(int normalColor) {
-        normalPaint.setColor(normalColor);
+    public void drawPointBatch(PainterContext context, byte status, float[] coords, float[] radii, int count,
+                               Canvas canvas, Paint paint) {
+        for (int i = 0; i < count; i++) {
+            float x = coords[2 * i];
+            float y = coords[2 * i + 1];
+            switch (status) {
+                case PointArray.POINT_NORMAL_STATUS:
+                    drawNormalPoint(x, y, radii[i], canvas, paint);
+                    break;
+                case PointArray.POINT_PRESS_STATUS:
+                    drawPressPoint(x, y, radii[i], canvas, paint);
+                    break;
+                case PointArray.POINT_ERROR_STATUS:
+                    drawErrorPoint(x, y, radii[i], canvas, paint);
+                    break;
+                default:
+                    break;
+            }
+        }
     }
 
     /**
-     * 3x3点绘制方法
-     *
-     * @param points 3x3点数组
-     * @param canvas 画布
-     */
-    public void drawPoints(Point[][] points, Canvas canvas) {
-
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
-                Point point = points[i][j];
-                switch (point.status) {
-                    case Point.POINT_NORMAL_STATUS:
-                        drawNormalPoint(point, canvas, normalPaint);
-                        break;
-                    case Point.POINT_PRESS_STATUS:
-                        drawPressPoint(point, canvas, pressPaint);
-                        break;
-                    case Point.POINT_ERROR_STATUS:
-                        drawErrorPoint(point, canvas, errorPaint);
-                        break;
-                    default:
-                        break;
-                }
+     * 批量绘制实心圆（圆半径为点半径 * radiusScale）
+     * <p>
+     * 与第一个点半径相同的点合并为一次圆头drawPoints，其余（如正在执行缩放动画的点）逐个绘制
+     */
+    protected static void fillCircles(PainterContext context, float[] coords, float[] radii, int count,
+                                      float radiusScale, Canvas canvas, Paint paint) {
+        // 1.记录画笔的原始属性，绘制结束时进行还原
+        Paint.Style style = paint.getStyle();
+        Paint.Cap cap = paint.getStrokeCap();
+        float strokeWidth = paint.getStrokeWidth();
+        paint.setStyle(Paint.Style.FILL);
+        // 2.收集半径相同的点
+        float[] scratch = context.batchScratch;
+        float radius = radii[0];
+        int length = 0;
+        for (int i = 0; i < count; i++) {
+            if (radii[i] == radius) {
+                scratch[length++] = coords[2 * i];
+                scratch[length++] = coords[2 * i + 1];
+            } else {
+                canvas.drawCircle(coords[2 * i], coords[2 * i + 1], radii[i] * radiusScale, paint);
             }
         }
+        // 3.圆头点的直径即画笔宽度（宽度为0时会绘制1像素，需跳过）
+        if (radius * radiusScale > 0) {
+            paint.setStrokeCap(Paint.Cap.ROUND);
+            paint.setStrokeWidth(2 * radius * radiusScale);
+            canvas.drawPoints(scratch, 0, length, paint);
+        }
+        paint.setStyle(style);
+        paint.setStrokeCap(cap);
+        paint.setStrokeWidth(strokeWidth);
     }
 
+    /**
+     * 批量绘制空心圆（圆半径为点半径 * radiusScale，边界宽度为点半径 * strokeScale）
+     * <p>
+     * 与第一个点半径相同的点合并为一条路径绘制，其余逐个绘制
+     */
+    protected static void strokeCircles(PainterContext context, float[] coords, float[] radii, int count,
+                                        float radiusScale, float strokeScale, Canvas canvas, Paint paint) {
+        // 1.记录画笔的原始属性，绘制结束时进行还原
+        Paint.Style style = paint.getStyle();
+        float strokeWidth = paint.getStrokeWidth();
+        paint.setStyle(Paint.Style.STROKE);
+        // 2.合并半径相同的点
+        Path path = context.batchPath;
+        float radius = radii[0];
+        path.rewind();
+        for (int i = 0; i < count; i++) {
+            if (radii[i] == radius) {
+                path.addCircle(coords[2 * i], coords[2 * i + 1], radius * radiusScale, Path.Direction.CW);
+            } else {
+                paint.setStrokeWidth(radii[i] * strokeScale);
+                canvas.drawCircle(coords[2 * i], coords[2 * i + 1], radii[i] * radiusScale, paint);
+            }
+        }
+        paint.setStrokeWidth(radius * strokeScale);
+        canvas.drawPath(path, paint);
+        paint.setStyle(style);
+        paint.setStrokeWidth(strokeWidth);
+    }
 
     /**
      * 画错误的点
      */
-    public abstract void drawErrorPoint(Point point, Canvas canvas, Paint errorPaint);
+    public abstract void drawErrorPoint(float x, float y, float radius, Canvas canvas, Paint errorPaint);
 
     /**
      * 画按下的点
      */
-    public abstract void drawPressPoint(Point point, Canvas canvas, Paint pressPaint);
+    public abstract void drawPressPoint(float x, float y, float radius, Canvas canvas, Paint pressPaint);
 
     /**
      * 画初始状态的点
      */
-    public abstract void drawNormalPoint(Point point, Canvas canvas, Paint normalPaint);
+    public abstract void drawNormalPoint(float x, float y, float radius, Canvas canvas, Paint normalPaint);
 
     /**
      * 绘制连线
      *
-     * @param points   点集合（已被按下的点）
+     * @param context  绘制上下文
+     * @param points   点集合（按按下顺序连线）
      * @param eventX   事件X坐标（当前触摸位置）
      * @param eventY   事件Y坐标（当前触摸位置）
      * @param lineSize 线的粗细值
      * @param canvas   画布
      */
-    public void drawLines(List<Point> points, float eventX, float eventY, int lineSize, Canvas canvas) {
+    public void drawLines(PainterContext context, PointTable points, float eventX, float eventY, int lineSize,
+                          Canvas canvas) {
         // 1.参数合法性判断
-        if (points.size() <= 0) {
+        if (points.getPressCount() <= 0) {
             return;
         }
-        // 2.根据点列表生成连线路径
-        Path path = generateLinePath(points, eventX, eventY);
-        // 3.区分点的状态，使用不同画笔绘制连线
-        switch (points.get(0).status) {
-            // 按下状态
-            case Point.POINT_PRESS_STATUS:
-                Paint pressPaint = new Paint();
-                pressPaint.setColor(PRESS_COLOR);
-                pressPaint.setStyle(Paint.Style.STROKE);
-                pressPaint.setStrokeWidth(lineSize);
-                canvas.drawPath(path, pressPaint);
-                break;
-            // 出错状态
-            case Point.POINT_ERROR_STATUS:
-                Paint errorPaint = new Paint();
-                errorPaint.setColor(ERROR_COLOR);
-                errorPaint.setStyle(Paint.Style.STROKE);
-                errorPaint.setStrokeWidth(lineSize);
-                canvas.drawPath(path, errorPaint);
-                break;
-            default:
-                break;
+        byte status = points.getStatus(points.getPressCell(0));
+        if (status != PointArray.POINT_PRESS_STATUS && status != PointArray.POINT_ERROR_STATUS) {
+            return;
+        }
+        // 2.可变宽度连线一次drawVertices绘制（降低质量时按固定宽度绘制）
+        if (context.isVariableWidth && !context.isReducedQuality()) {
+            drawVariableWidthLines(context, points, status, eventX, eventY, canvas);
+            return;
+        }
+        context.linePaint.setStyle(Paint.Style.STROKE);
+        context.linePaint.setStrokeWidth(lineSize);
+        // 3.渐变样式逐段使用缓存的着色器绘制（降低质量时按纯色绘制）
+        if (context.lineStyle == LINE_STYLE_GRADIENT && !context.isReducedQuality()) {
+            drawGradientLines(context, points, status, eventX, eventY, canvas);
+            return;
+        }
+        // 4.根据点列表生成连线路径
+        Path path = generateLinePath(context.linePath, points, eventX, eventY);
+        // 5.区分点的状态，使用不同颜色绘制连线
+        drawLinePath(context, path, status, lineSize, canvas);
+    }
+
+    /**
+     * 绘制连线路径（纯色，如演示图案时由PathMeasure截取的部分折线）
+     *
+     * @param context  绘制上下文
+     * @param path     连线路径
+     * @param status   连线状态（按下或出错状态）
+     * @param lineSize 线的粗细值
+     * @param canvas   画布
+     */
+    public void drawLinePath(PainterContext context, Path path, byte status, int lineSize, Canvas canvas) {
+        Paint linePaint = context.linePaint;
+        linePaint.setStyle(Paint.Style.STROKE);
+        linePaint.setStrokeWidth(lineSize);
+        linePaint.setShader(null);
+        linePaint.setStrokeCap(Paint.Cap.BUTT);
+        linePaint.setColor(status == PointArray.POINT_PRESS_STATUS ? PRESS_COLOR : ERROR_COLOR);
+        canvas.drawPath(path, linePaint);
+    }
+
+    /**
+     * 绘制渐变连线
+     *
+     * @param context 绘制上下文
+     * @param points  点集合（按按下顺序连线）
+     * @param status  连线状态
+     * @param eventX  事件X坐标（当前触摸位置）
+     * @param eventY  事件Y坐标（当前触摸位置）
+     * @param canvas  画布
+     */
+    private void drawGradientLines(PainterContext context, PointTable points, byte status,
+                                   float eventX, float eventY, Canvas canvas) {
+        Paint linePaint = context.linePaint;
+        int pressCount = points.getPressCount();
+        // 1.逐段绘制已提交的连线（圆头衔接各段拐角）
+        linePaint.setStrokeCap(Paint.Cap.ROUND);
+        for (int i = 0; i < pressCount - 1; i++) {
+            int key = getLineShaderKey(context, points, i);
+            if (context.lineShaders[key] == null || context.lineShaderOrders[key] != i) {
+                // 缓存被清空后首次绘制时补建
+                commitLineSegment(context, points, i);
+            }
+            int fromCell = points.getPressCell(i);
+            int toCell = points.getPressCell(i + 1);
+            linePaint.setShader(context.lineShaders[key]);
+            canvas.drawLine(points.getX(fromCell), points.getY(fromCell),
+                    points.getX(toCell), points.getY(toCell), linePaint);
         }
+        // 2.最后按下的点到触摸位置的连线每帧都在变化，使用纯色绘制
+        int lastCell = points.getPressCell(pressCount - 1);
+        linePaint.setShader(null);
+        linePaint.setColor(sampleLineColor(getLineColors(context, status), getLineProgress(points, pressCount - 1)));
+        canvas.drawLine(points.getX(lastCell), points.getY(lastCell), eventX, eventY, linePaint);
+    }
+
+    /**
+     * 绘制可变宽度连线
+     * <p>
+     * 已提交的按下点处的顶点直接复用缓存，每帧只重新计算最后按下的点与触摸位置处的顶点
+     *
+     * @param context  绘制上下文
+     * @param points   点集合（按按下顺序连线）
+     * @param status   连线状态
+     * @param eventX   事件X坐标（当前触摸位置）
+     * @param eventY   事件Y坐标（当前触摸位置）
+     * @param canvas   画布
+     */
+    private void drawVariableWidthLines(PainterContext context, PointTable points, byte status,
+                                        float eventX, float eventY, Canvas canvas) {
+        context.ensureStrokeCapacity(points.size());
+        int pressCount = points.getPressCount();
+        // 1.已提交的顶点（缓存被清空或图案变化后首次绘制时补建）
+        for (int i = 0; i < pressCount - 1; i++) {
+            commitStrokeVertices(context, points, i);
+        }
+        // 2.最后按下的点（下一个位置为触摸位置）与触摸位置处的顶点
+        int lastOrder = pressCount - 1;
+        int lastCell = points.getPressCell(lastOrder);
+        int previousCell = lastOrder > 0 ? points.getPressCell(lastOrder - 1) : -1;
+        float lastX = points.getX(lastCell);
+        float lastY = points.getY(lastCell);
+        int color = getStrokeColor(context, status, getLineProgress(points, lastOrder));
+        float activeWidth = context.strokeActiveWidth > 0 ? context.strokeActiveWidth : context.strokeDefaultWidth;
+        setStrokeVertices(context, lastOrder,
+                previousCell >= 0 ? points.getX(previousCell) : lastX, previousCell >= 0 ? points.getY(previousCell) : lastY,
+                lastX, lastY, eventX, eventY, getStrokeWidth(context, lastOrder), color);
+        setStrokeVertices(context, pressCount, lastX, lastY, eventX, eventY, eventX, eventY, activeWidth, color);
+        // 最后按下点处的顶点随触摸位置变化，不作为缓存
+        context.strokeKeys[lastOrder] = -1;
+        // 3.一次绘制整条三角形带（硬件加速画布从Android 10开始支持drawVertices，更低版本逐段绘制）
+        Paint linePaint = context.linePaint;
+        linePaint.setShader(null);
+        int vertexCount = 2 * (pressCount + 1);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q || !canvas.isHardwareAccelerated()) {
+            linePaint.setStyle(Paint.Style.FILL);
+            canvas.drawVertices(Canvas.VertexMode.TRIANGLE_STRIP, vertexCount * 2, context.strokeVertices, 0,
+                    null, 0, context.strokeColors, 0, null, 0, 0, linePaint);
+        } else {
+            drawStrokeSegments(context, pressCount, canvas);
+        }
+    }
+
+    /**
+     * 缓存第order个按下点处的顶点（该点的前后两个按下点均已确定）
+     */
+    private static void commitStrokeVertices(PainterContext context, PointTable points, int order) {
+        context.ensureStrokeCapacity(points.size());
+        int cell = points.getPressCell(order);
+        int previousCell = order > 0 ? points.getPressCell(order - 1) : cell;
+        int nextCell = points.getPressCell(order + 1);
+        byte status = points.getStatus(cell);
+        // 缓存键：前后点与状态，另外比较宽度（每次手势按下时重新指定）
+        int count = points.size();
+        int key = ((status == PointArray.POINT_ERROR_STATUS ? count : 0) + previousCell) * count * count
+                + cell * count + nextCell;
+        float width = getStrokeWidth(context, order);
+        if (context.strokeKeys[order] == key && context.strokeKeyWidths[order] == width) {
+            return;
+        }
+        setStrokeVertices(context, order,
+                points.getX(previousCell), points.getY(previousCell), points.getX(cell), points.getY(cell),
+                points.getX(nextCell), points.getY(nextCell), width,
+                getStrokeColor(context, status, getLineProgress(points, order)));
+        context.strokeKeys[order] = key;
+        context.strokeKeyWidths[order] = width;
+    }
+
+    /**
+     * 计算(x,y)处左右两个顶点：沿前后两段法线的平均方向展开（斜接），展开长度最多为半宽的两倍，避免锐角处出现尖刺
+     *
+     * @param index 顶点对下标
+     * @param width 连线宽度
+     * @param color 顶点颜色
+     */
+    private static void setStrokeVertices(PainterContext context, int index, float previousX, float previousY,
+                                          float x, float y, float nextX, float nextY, float width, int color) {
+        // 1.前后两段的单位方向（长度为0的段不参与计算）
+        float dx1 = x - previousX;
+        float dy1 = y - previousY;
+        float length1 = (float) Math.sqrt(dx1 * dx1 + dy1 * dy1);
+        float dx2 = nextX - x;
+        float dy2 = nextY - y;
+        float length2 = (float) Math.sqrt(dx2 * dx2 + dy2 * dy2);
+        if (length1 > 0) {
+            dx1 /= length1;
+            dy1 /= length1;
+        }
+        if (length2 > 0) {
+            dx2 /= length2;
+            dy2 /= length2;
+        }
+        float dx = dx1 + dx2;
+        float dy = dy1 + dy2;
+        float length = (float) Math.sqrt(dx * dx + dy * dy);
+        // 2.斜接方向的法线与展开长度（两段方向相反时退化为前一段的法线）
+        float offset = width / 2;
+        if (length > 1e-3F) {
+            dx /= length;
+            dy /= length;
+            float cos = length1 > 0 ? dx * dx1 + dy * dy1 : 1;
+            offset = cos > 0.5F ? offset / cos : offset * 2;
+        } else {
+            dx = length1 > 0 ? dx1 : dx2;
+            dy = length1 > 0 ? dy1 : dy2;
+        }
+        float[] vertices = context.strokeVertices;
+        vertices[4 * index] = x - dy * offset;
+        vertices[4 * index + 1] = y + dx * offset;
+        vertices[4 * index + 2] = x + dy * offset;
+        vertices[4 * index + 3] = y - dx * offset;
+        context.strokeColors[2 * index] = color;
+        context.strokeColors[2 * index + 1] = color;
+    }
+
+    /**
+     * 逐段绘制可变宽度连线（不支持drawVertices时使用，每段取两端宽度的平均值）
+     */
+    private static void drawStrokeSegments(PainterContext context, int pressCount, Canvas canvas) {
+        Paint linePaint = context.linePaint;
+        float[] vertices = context.strokeVertices;
+        linePaint.setStyle(Paint.Style.STROKE);
+        linePaint.setStrokeCap(Paint.Cap.ROUND);
+        for (int i = 0; i < pressCount; i++) {
+            float fromX = (vertices[4 * i] + vertices[4 * i + 2]) / 2;
+            float fromY = (vertices[4 * i + 1] + vertices[4 * i + 3]) / 2;
+            float toX = (vertices[4 * i + 4] + vertices[4 * i + 6]) / 2;
+            float toY = (vertices[4 * i + 5] + vertices[4 * i + 7]) / 2;
+            float fromWidth = (float) Math.hypot(vertices[4 * i] - vertices[4 * i + 2], vertices[4 * i + 1] - vertices[4 * i + 3]);
+            float toWidth = (float) Math.hypot(vertices[4 * i + 4] - vertices[4 * i + 6], vertices[4 * i + 5] - vertices[4 * i + 7]);
+            linePaint.setColor(context.strokeColors[2 * i]);
+            linePaint.setStrokeWidth((fromWidth + toWidth) / 2);
+            canvas.drawLine(fromX, fromY, toX, toY, linePaint);
+        }
+    }
+
+    /**
+     * 第order个按下点处的连线宽度
+     */
+    private static float getStrokeWidth(PainterContext context, int order) {
+        float width = context.strokeWidths[order];
+        return width > 0 ? width : context.strokeDefaultWidth;
+    }
+
+    /**
+     * 可变宽度连线的顶点颜色（渐变样式按解锁进度取色，纯色样式与{@link #drawLinePath}一致）
+     */
+    private static int getStrokeColor(PainterContext context, byte status, float progress) {
+        if (context.lineStyle == LINE_STYLE_GRADIENT) {
+            return sampleLineColor(getLineColors(context, status), progress);
+        }
+        return status == PointArray.POINT_PRESS_STATUS ? PRESS_COLOR : ERROR_COLOR;
+    }
+
+    /**
+     * 获取状态对应的渐变颜色
+     */
+    private static int[] getLineColors(PainterContext context, byte status) {
+        return status == PointArray.POINT_ERROR_STATUS ? context.errorLineColors : context.pressLineColors;
+    }
+
+    /**
+     * 第order个按下点的解锁进度（取值范围[0,1]）
+     */
+    private static float getLineProgress(PointTable points, int order) {
+        return points.size() > 1 ? (float) order / (points.size() - 1) : 0;
+    }
+
+    /**
+     * 按解锁进度取渐变颜色（相邻两个颜色按ARGB分量线性插值）
+     *
+     * @param colors   渐变颜色
+     * @param progress 解锁进度（取值范围[0,1]）
+     */
+    private static int sampleLineColor(int[] colors, float progress) {
+        if (colors.length == 1) {
+            return colors[0];
+        }
+        float position = progress * (colors.length - 1);
+        int index = Math.min((int) position, colors.length - 2);
+        float fraction = position - index;
+        int start = colors[index];
+        int end = colors[index + 1];
+        return Color.argb(
+                Math.round(Color.alpha(start) + (Color.alpha(end) - Color.alpha(start)) * fraction),
+                Math.round(Color.red(start) + (Color.red(end) - Color.red(start)) * fraction),
+                Math.round(Color.green(start) + (Color.green(end) - Color.green(start)) * fraction),
+                Math.round(Color.blue(start) + (Color.blue(end) - Color.blue(start)) * fraction));
     }
 
     /**
      * 生成连线路径
      *
-     * @param points 点集合（已被按下记录的点）
+     * @param path   连线路径（复用）
+     * @param points 点集合（按按下顺序连线）
      * @param eventX 事件X坐标（当前触摸位置）
      * @param eventY 事件Y坐标（当前触摸位置）
      */
-    private Path generateLinePath(List<Point> points, float eventX, float eventY) {
-        Path path = new Path();
-        for (int i = 0; i < points.size(); i++) {
-            Point point = points.get(i);
+    private static Path generateLinePath(Path path, PointTable points, float eventX, float eventY) {
+        path.rewind();
+        for (int i = 0; i < points.getPressCount(); i++) {
+            int cell = points.getPressCell(i);
             if (i == 0) {
-                path.moveTo(point.x, point.y);
+                path.moveTo(points.getX(cell), points.getY(cell));
             } else {
-                path.lineTo(point.x, point.y);
+                path.lineTo(points.getX(cell), points.getY(cell));
             }
         }
         path.lineTo(eventX, eventY);
         return path;
     }
-
-    /**
-     * 获取手势解锁视图
-     */
-    public GestureLockView getGestureLockView(){
-        return mGestureLockView;
-    }
 }
@@ -0,0 +1,307 @@
+package com.yisan.library.painter;
+
+import android.graphics.LinearGradient;
+import android.graphics.Paint;
+import android.graphics.Path;
+
+import java.util.Arrays;
+
+/**
+ * @description: 绘制上下文（每个手势解锁视图一份，保存画笔、连线样式与各类缓存；绘制者本身不保存状态，可在多个视图间共享）
+ * @packageName: com.yisan.library.painter
+ */
+public final class PainterContext {
+
+    /**
+     * 正常 & 按下 & 错误状态画笔
+     */
+    final Paint normalPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    final Paint pressPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    final Paint errorPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+    /**
+     * 连线画笔 & 连线路径 & 供绘制者使用的临时路径（每帧复用）
+     */
+    final Paint linePaint = new Paint();
+    final Path linePath = new Path();
+    private final Path mScratchPath = new Path();
+
+    /**
+     * 连线样式
+     */
+    int lineStyle = Painter.LINE_STYLE_SOLID;
+    /**
+     * 按下 & 错误状态渐变连线的颜色（沿解锁进度[0,1]均匀分布）
+     */
+    int[] pressLineColors = {Painter.PRESS_COLOR, Painter.PRESS_COLOR};
+    int[] errorLineColors = {Painter.ERROR_COLOR, Painter.ERROR_COLOR};
+    /**
+     * 连线段着色器缓存（按(起点,终点,状态)索引）& 着色器构建时连线段的按下顺序 & 缓存对应的点数量
+     */
+    LinearGradient[] lineShaders;
+    int[] lineShaderOrders;
+    private int mLineShaderPointCount;
+
+    /**
+     * 按状态分组的点坐标（x0,y0,x1,y1...）& 半径 & 数量（下标为状态值 - 正常状态值）
+     */
+    float[][] batchCoords;
+    float[][] batchRadii;
+    final int[] batchCounts = new int[3];
+    /**
+     * 批量绘制的临时坐标 & 路径
+     */
+    float[] batchScratch;
+    final Path batchPath = new Path();
+
+    /**
+     * 是否使用可变宽度连线 & 未指定宽度时的连线宽度 & 各按下点处的连线宽度（下标为按下顺序）& 触摸位置处的连线宽度
+     */
+    boolean isVariableWidth;
+    float strokeDefaultWidth = 1;
+    float[] strokeWidths;
+    float strokeActiveWidth;
+    /**
+     * 可变宽度连线的三角形带顶点（每个按下点及触摸位置左右各一个顶点）& 顶点颜色 & 已提交顶点的缓存键及宽度（下标为按下顺序）
+     */
+    float[] strokeVertices;
+    int[] strokeColors;
+    int[] strokeKeys;
+    float[] strokeKeyWidths;
+
+    /**
+     * 是否降低绘制质量
+     */
+    private boolean isReducedQuality;
+    /**
+     * 点的基础半径（不含缩放动画）
+     */
+    private float mRadius;
+
+    public PainterContext() {
+        this(Painter.NORMAL_COLOR, Painter.PRESS_COLOR, Painter.ERROR_COLOR);
+    }
+
+    /**
+     * @param normalColor 正常状态画笔颜色
+     * @param pressColor  按下状态画笔颜色
+     * @param errorColor  错误状态画笔颜色
+     */
+    public PainterContext(int normalColor, int pressColor, int errorColor) {
+        setColors(normalColor, pressColor, errorColor);
+    }
+
+    /**
+     * 设置各状态画笔颜色
+     *
+     * @param normalColor 正常状态画笔颜色 (具体颜色值,不是引用值)
+     * @param pressColor  按下状态画笔颜色 (具体颜色值,不是引用值)
+     * @param errorColor  错误状态画笔颜色 (具体颜色值,不是引用值)
+     */
+    public void setColors(int normalColor, int pressColor, int errorColor) {
+        normalPaint.setColor(normalColor);
+        pressPaint.setColor(pressColor);
+        errorPaint.setColor(errorColor);
+        // 颜色变化，清空连线着色器缓存
+        clearLineShaders();
+    }
+
+    /**
+     * 设置连线样式
+     *
+     * @param lineStyle 连线样式
+     */
+    public void setLineStyle(@Painter.LineStyle int lineStyle) {
+        this.lineStyle = lineStyle;
+        clearLineShaders();
+    }
+
+    /**
+     * 设置渐变连线的颜色（颜色沿解锁进度均匀分布，至少一个颜色）
+     *
+     * @param pressColors 按下状态渐变颜色
+     * @param errorColors 出错状态渐变颜色
+     * @throws IllegalArgumentException 颜色数组为空时抛出
+     */
+    public void setLineGradientColors(int[] pressColors, int[] errorColors) {
+        checkLineColors("pressColors", pressColors);
+        checkLineColors("errorColors", errorColors);
+        pressLineColors = pressColors.clone();
+        errorLineColors = errorColors.clone();
+        clearLineShaders();
+    }
+
+    private static void checkLineColors(String name, int[] colors) {
+        if (colors == null || colors.length == 0) {
+            throw new IllegalArgumentException(name + " must contain at least one color");
+        }
+    }
+
+    /**
+     * 设置是否降低绘制质量
+     * <p>
+     * 降低质量时点画笔关闭抗锯齿，渐变连线改为纯色连线；绘制者可通过{@link #isReducedQuality()}跳过其他额外效果
+     * （连线画笔本身不开启抗锯齿，各画笔均未开启抖动，无需关闭）
+     *
+     * @param reducedQuality 是否降低绘制质量
+     */
+    public void setReducedQuality(boolean reducedQuality) {
+        isReducedQuality = reducedQuality;
+        normalPaint.setAntiAlias(!reducedQuality);
+        pressPaint.setAntiAlias(!reducedQuality);
+        errorPaint.setAntiAlias(!reducedQuality);
+    }
+
+    public boolean isReducedQuality() {
+        return isReducedQuality;
+    }
+
+    /**
+     * 设置是否使用可变宽度连线（宽度由{@link #setStrokeWidth(int, float)}、{@link #setActiveStrokeWidth(float)}指定，一次drawVertices绘制）
+     *
+     * @param variableWidth 是否使用可变宽度连线
+     * @param defaultWidth  未指定宽度时的连线宽度（如恢复的图案，像素）
+     */
+    public void setVariableWidth(boolean variableWidth, float defaultWidth) {
+        isVariableWidth = variableWidth;
+        strokeDefaultWidth = defaultWidth > 0 ? defaultWidth : 1;
+        clearLineShaders();
+    }
+
+    public boolean isVariableWidth() {
+        return isVariableWidth;
+    }
+
+    /**
+     * 设置第order个按下点处的连线宽度（点被按下时调用）
+     *
+     * @param order 按下顺序
+     * @param width 连线宽度（像素，小于等于0时使用默认线宽）
+     */
+    public void setStrokeWidth(int order, float width) {
+        if (strokeWidths != null && order >= 0 && order < strokeWidths.length) {
+            strokeWidths[order] = width;
+        }
+    }
+
+    /**
+     * 设置触摸位置处的连线宽度（每个触摸采样调用）
+     *
+     * @param width 连线宽度（像素，小于等于0时使用默认线宽）
+     */
+    public void setActiveStrokeWidth(float width) {
+        strokeActiveWidth = width;
+    }
+
+    /**
+     * 设置点的基础半径（视图尺寸变化时更新）
+     */
+    public void setRadius(float radius) {
+        mRadius = radius;
+    }
+
+    public float getRadius() {
+        return mRadius;
+    }
+
+    /**
+     * 正常 & 按下 & 错误状态画笔（供自定义绘制者在drawLines等方法中使用）
+     */
+    public Paint getNormalPaint() {
+        return normalPaint;
+    }
+
+    public Paint getPressPaint() {
+        return pressPaint;
+    }
+
+    public Paint getErrorPaint() {
+        return errorPaint;
+    }
+
+    /**
+     * 供绘制者在绘制过程中使用的临时路径（如箭头，使用前需rewind）
+     */
+    public Path getScratchPath() {
+        return mScratchPath;
+    }
+
+    /**
+     * 清空连线着色器缓存及可变宽度连线的顶点缓存（尺寸或颜色变化时调用）
+     */
+    public void clearLineShaders() {
+        if (lineShaders != null) {
+            for (int i = 0; i < lineShaders.length; i++) {
+                lineShaders[i] = null;
+            }
+        }
+        if (strokeKeys != null) {
+            for (int i = 0; i < strokeKeys.length; i++) {
+                strokeKeys[i] = -1;
+            }
+        }
+    }
+
+    /**
+     * 清零所有与图案相关的缓存（连线着色器、可变宽度连线顶点、批量绘制坐标及路径），用于安全模式清理
+     */
+    public void wipePatternCaches() {
+        clearLineShaders();
+        if (lineShaderOrders != null) {
+            Arrays.fill(lineShaderOrders, 0);
+        }
+        if (strokeVertices != null) {
+            Arrays.fill(strokeWidths, 0);
+            Arrays.fill(strokeVertices, 0);
+            Arrays.fill(strokeColors, 0);
+            Arrays.fill(strokeKeyWidths, 0);
+        }
+        if (batchCoords != null) {
+            for (int i = 0; i < batchCoords.length; i++) {
+                Arrays.fill(batchCoords[i], 0);
+                Arrays.fill(batchRadii[i], 0);
+            }
+            Arrays.fill(batchScratch, 0);
+        }
+        strokeActiveWidth = 0;
+        linePath.rewind();
+        batchPath.rewind();
+        mScratchPath.rewind();
+    }
+
+    /**
+     * 按点的数量分配连线着色器缓存
+     */
+    void ensureLineShaderCapacity(int count) {
+        if (lineShaders == null || mLineShaderPointCount != count) {
+            lineShaders = new LinearGradient[2 * count * count];
+            lineShaderOrders = new int[2 * count * count];
+            mLineShaderPointCount = count;
+        }
+    }
+
+    /**
+     * 按点的数量分配可变宽度连线的顶点缓冲区
+     */
+    void ensureStrokeCapacity(int count) {
+        if (strokeKeys == null || strokeKeys.length != count) {
+            strokeWidths = new float[count];
+            strokeVertices = new float[4 * (count + 1)];
+            strokeColors = new int[2 * (count + 1)];
+            strokeKeys = new int[count];
+            strokeKeyWidths = new float[count];
+            Arrays.fill(strokeKeys, -1);
+        }
+    }
+
+    /**
+     * 按点的数量分配批量绘制缓冲区
+     */
+    void ensureBatchCapacity(int size) {
+        if (batchRadii == null || batchRadii[0].length != size) {
+            batchCoords = new float[3][2 * size];
+            batchRadii = new float[3][size];
+            batchScratch = new float[2 * size];
+        }
+    }
+}
@@ -3,8 +3,6 @@ package com.yisan.library.painter;
 import android.graphics.Canvas;
 import android.graphics.Paint;
 
-import com.yisan.library.model.Point;
-
 
 /**
  * @ClassName: System360Painter
@@ -18,28 +16,39 @@ public class System360Painter extends Painter {
     /**
      * 绘制正常状态的点
      *
-     * @param point       单位点
+     * @param x           点的x坐标
+     * @param y           点的y坐标
+     * @param radius      点的半径
      * @param canvas      画布
      * @param normalPaint 正常状态画笔
      */
     @Override
-    public void drawNormalPoint(Point point, Canvas canvas, Paint normalPaint) {
-        canvas.drawCircle(point.x, point.y, point.radius / 4.0F, normalPaint);
+    public void drawNormalPoint(float x, float y, float radius, Canvas canvas, Paint normalPaint) {
+        canvas.drawCircle(x, y, radius / 4.0F, normalPaint);
     }
 
     /**
      * 绘制按下状态的点
      */
     @Override
-    public void drawPressPoint(Point point, Canvas canvas, Paint pressPaint) {
-        canvas.drawCircle(point.x, point.y, point.radius / 4.0F, pressPaint);
+    public void drawPressPoint(float x, float y, float radius, Canvas canvas, Paint pressPaint) {
+        canvas.drawCircle(x, y, radius / 4.0F, pressPaint);
     }
 
     /**
      * 绘制出错状态的点
      */
     @Override
-    public void drawErrorPoint(Point point, Canvas canvas, Paint errorPaint) {
-        canvas.drawCircle(point.x, point.y, point.radius / 4.0F, errorPaint);
+    public void drawErrorPoint(float x, float y, float radius, Canvas canvas, Paint errorPaint) {
+        canvas.drawCircle(x, y, radius / 4.0F, errorPaint);
+    }
+
+    /**
+     * 批量绘制同一状态的点（各状态均为实心圆，每个状态合并为一次绘制）
+     */
+    @Override
+    public void drawPointBatch(PainterContext context, byte status, float[] coords, float[] radii, int count,
+                               Canvas canvas, Paint paint) {
+        fillCircles(context, coords, radii, count, 1 / 4.0F, canvas, paint);
     }
 }
@@ -0,0 +1,162 @@
+package com.yisan.library.pattern;
+
+import java.util.Arrays;
+
+/**
+ * @description: 中间点表（两点连线恰好经过的点，按从起点到终点的顺序；由点布局提供，手势识别与图案校验共用同一张表）
+ * @packageName: com.yisan.library.pattern
+ */
+public final class MiddleCellTable {
+
+    private static final int[] NONE = new int[0];
+
+    /**
+     * 点的数量
+     */
+    private final int mCellCount;
+    /**
+     * 中间点（下标from * cellCount + to，不存在中间点时为空数组）
+     */
+    private final int[][] mMiddleCells;
+
+    private MiddleCellTable(int cellCount) {
+        mCellCount = cellCount;
+        mMiddleCells = new int[cellCount * cellCount][];
+        Arrays.fill(mMiddleCells, NONE);
+    }
+
+    /**
+     * 网格（n×n，点下标按行优先排列）：两点之间的中间点为连线上间隔gcd(|行差|,|列差|)等分的点
+     *
+     * @param columns 每行（列）点的数量
+     */
+    public static MiddleCellTable ofGrid(int columns) {
+        if (columns < 1) {
+            throw new IllegalArgumentException("columns must be positive: " + columns);
+        }
+        int count = columns * columns;
+        int[] xs = new int[count];
+        int[] ys = new int[count];
+        for (int cell = 0; cell < count; cell++) {
+            xs[cell] = cell % columns;
+            ys[cell] = cell / columns;
+        }
+        return ofLattice(xs, ys);
+    }
+
+    /**
+     * 格点布局：各点位于同一个格（如正方形网格、三角形网格）的格点上，(xs[i], ys[i])为第i个点在格基下的整数坐标
+     * <p>
+     * 两点之间的中间点为连线上间隔gcd(|dx|,|dy|)等分的格点中存在点的那些
+     *
+     * @param xs 格点x坐标
+     * @param ys 格点y坐标
+     */
+    public static MiddleCellTable ofLattice(int[] xs, int[] ys) {
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("coordinate arrays differ in length: " + xs.length + ", " + ys.length);
+        }
+        int count = xs.length;
+        MiddleCellTable table = new MiddleCellTable(count);
+        if (count == 0) {
+            return table;
+        }
+        // 1.按坐标范围建立坐标到点下标的查找表
+        int minX = Integer.MAX_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxY = Integer.MIN_VALUE;
+        for (int cell = 0; cell < count; cell++) {
+            minX = Math.min(minX, xs[cell]);
+            minY = Math.min(minY, ys[cell]);
+            maxX = Math.max(maxX, xs[cell]);
+            maxY = Math.max(maxY, ys[cell]);
+        }
+        int width = maxX - minX + 1;
+        int[] lookup = new int[width * (maxY - minY + 1)];
+        Arrays.fill(lookup, -1);
+        for (int cell = 0; cell < count; cell++) {
+            int index = (ys[cell] - minY) * width + xs[cell] - minX;
+            if (lookup[index] >= 0) {
+                throw new IllegalArgumentException("cells " + lookup[index] + " and " + cell + " share a lattice point");
+            }
+            lookup[index] = cell;
+        }
+        // 2.逐对收集等分格点上的点
+        int[] scratch = new int[count];
+        for (int from = 0; from < count; from++) {
+            for (int to = 0; to < count; to++) {
+                int dx = xs[to] - xs[from];
+                int dy = ys[to] - ys[from];
+                int steps = gcd(Math.abs(dx), Math.abs(dy));
+                int length = 0;
+                for (int k = 1; k < steps; k++) {
+                    int cell = lookup[(ys[from] + dy / steps * k - minY) * width + xs[from] + dx / steps * k - minX];
+                    if (cell >= 0) {
+                        scratch[length++] = cell;
+                    }
+                }
+                if (length > 0) {
+                    table.mMiddleCells[from * count + to] = Arrays.copyOf(scratch, length);
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * 按共线点列表生成：同一列表中任意两点之间的中间点为列表中位于两者之间的点，不在同一列表中的两点没有中间点
+     *
+     * @param cellCount 点的数量
+     * @param lines     共线点列表（每个列表按在直线上的顺序排列）
+     */
+    public static MiddleCellTable ofLines(int cellCount, int[]... lines) {
+        MiddleCellTable table = new MiddleCellTable(cellCount);
+        for (int[] line : lines) {
+            for (int cell : line) {
+                if (cell < 0 || cell >= cellCount) {
+                    throw new IllegalArgumentException("cell out of range: " + cell);
+                }
+            }
+            for (int i = 0; i < line.length; i++) {
+                for (int j = i + 2; j < line.length; j++) {
+                    int[] forward = Arrays.copyOfRange(line, i + 1, j);
+                    int[] backward = new int[forward.length];
+                    for (int k = 0; k < forward.length; k++) {
+                        backward[k] = forward[forward.length - 1 - k];
+                    }
+                    table.mMiddleCells[line[i] * cellCount + line[j]] = forward;
+                    table.mMiddleCells[line[j] * cellCount + line[i]] = backward;
+                }
+            }
+        }
+        return table;
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    public int getCellCount() {
+        return mCellCount;
+    }
+
+    /**
+     * 获取两点连线经过的中间点数量
+     */
+    public int getMiddleCount(int from, int to) {
+        return mMiddleCells[from * mCellCount + to].length;
+    }
+
+    /**
+     * 获取两点连线经过的第index个中间点（按从from到to的顺序）
+     */
+    public int getMiddleCell(int from, int to, int index) {
+        return mMiddleCells[from * mCellCount + to][index];
+    }
+}
@@ -0,0 +1,130 @@
+package com.yisan.library.pattern;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * @description: 弱图案黑名单（以{@link PatternCodec}编码值为下标的位图，O(1)查询；3*3网格约48KB）
+ * @packageName: com.yisan.library.pattern
+ */
+public final class PatternBlocklist {
+
+    /**
+     * 最大位图长度（位）
+     */
+    private static final long MAX_BIT_COUNT = 1L << 31;
+
+    private final PatternCodec mCodec;
+    /**
+     * 位图
+     */
+    private final long[] mWords;
+
+    /**
+     * @param codec 手势图案编解码器
+     */
+    public PatternBlocklist(PatternCodec codec) {
+        if (codec.getPatternCount() > MAX_BIT_COUNT) {
+            throw new IllegalArgumentException("too many patterns for a bitmap: " + codec.getPatternCount());
+        }
+        mCodec = codec;
+        mWords = new long[(int) ((codec.getPatternCount() + 63) >>> 6)];
+    }
+
+    /**
+     * 添加图案
+     *
+     * @param cells  点下标序列
+     * @param length 点数
+     * @return 图案合法时返回true
+     */
+    public boolean add(int[] cells, int length) {
+        return set(mCodec.rank(cells, length));
+    }
+
+    /**
+     * 添加图案（数字密码形式）
+     *
+     * @return 图案合法时返回true
+     */
+    public boolean add(CharSequence password) {
+        return set(mCodec.rank(password));
+    }
+
+    /**
+     * 判断图案是否在黑名单中（不合法的图案返回false）
+     *
+     * @param cells  点下标序列
+     * @param length 点数
+     */
+    public boolean contains(int[] cells, int length) {
+        return get(mCodec.rank(cells, length));
+    }
+
+    /**
+     * 判断图案是否在黑名单中（数字密码形式，不合法的图案返回false）
+     */
+    public boolean contains(CharSequence password) {
+        return get(mCodec.rank(password));
+    }
+
+    /**
+     * 判断编码值对应的图案是否在黑名单中
+     */
+    public boolean containsRank(long rank) {
+        return get(rank);
+    }
+
+    /**
+     * 黑名单中的图案数量
+     */
+    public int size() {
+        int size = 0;
+        for (long word : mWords) {
+            size += Long.bitCount(word);
+        }
+        return size;
+    }
+
+    /**
+     * 写出位图（可预先生成后随应用发布）
+     */
+    public void writeTo(DataOutput output) throws IOException {
+        output.writeLong(mCodec.getPatternCount());
+        for (long word : mWords) {
+            output.writeLong(word);
+        }
+    }
+
+    /**
+     * 读取由{@link #writeTo(DataOutput)}写出的位图
+     *
+     * @param codec 手势图案编解码器（需与写出时的规则一致）
+     * @param input 输入
+     */
+    public static PatternBlocklist readFrom(PatternCodec codec, DataInput input) throws IOException {
+        long patternCount = input.readLong();
+        if (patternCount != codec.getPatternCount()) {
+            throw new IOException("pattern count mismatch: " + patternCount + " != " + codec.getPatternCount());
+        }
+        PatternBlocklist blocklist = new PatternBlocklist(codec);
+        for (int i = 0; i < blocklist.mWords.length; i++) {
+            blocklist.mWords[i] = input.readLong();
+        }
+        return blocklist;
+    }
+
+    private boolean set(long rank) {
+        if (rank < 0) {
+            return false;
+        }
+        mWords[(int) (rank >>> 6)] |= 1L << rank;
+        return true;
+    }
+
+    private boolean get(long rank) {
+        return rank >= 0 && rank < mCodec.getPatternCount()
+                && (mWords[(int) (rank >>> 6)] & (1L << rank)) != 0;
+    }
+}
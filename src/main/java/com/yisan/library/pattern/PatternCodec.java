@@ -0,0 +1,181 @@
+package com.yisan.library.pattern;
+
+/**
+ * @description: 手势图案编解码器（把每个合法图案一一映射为[0,getPatternCount())内的整数，并可反向还原）
+ * @packageName: com.yisan.library.pattern
+ */
+public final class PatternCodec {
+
+    /**
+     * 最大点数（计数表大小为2^cellCount * cellCount）
+     */
+    public static final int MAX_CELL_COUNT = 16;
+
+    private final PatternRules mRules;
+    private final int mCellCount;
+    /**
+     * 计数表（下标visited * cellCount + last）：以该状态为前缀的合法图案数量（含前缀自身）
+     */
+    private final long[] mCounts;
+    /**
+     * 合法图案总数
+     */
+    private final long mPatternCount;
+
+    /**
+     * @param rules 手势图案识别规则（点数不超过{@link #MAX_CELL_COUNT}）
+     */
+    public PatternCodec(PatternRules rules) {
+        if (rules.getCellCount() > MAX_CELL_COUNT) {
+            throw new IllegalArgumentException("cellCount exceeds " + MAX_CELL_COUNT + ": " + rules.getCellCount());
+        }
+        mRules = rules;
+        mCellCount = rules.getCellCount();
+        mCounts = new long[(1 << mCellCount) * mCellCount];
+        // 位掩码越大的状态越靠后，倒序遍历保证子状态先于父状态计算完成
+        for (int visited = (1 << mCellCount) - 1; visited > 0; visited--) {
+            boolean terminal = Integer.bitCount(visited) >= rules.getMinLength();
+            for (int last = 0; last < mCellCount; last++) {
+                if ((visited & (1 << last)) == 0) {
+                    continue;
+                }
+                long count = terminal ? 1 : 0;
+                for (int next = 0; next < mCellCount; next++) {
+                    if (rules.canConnect(visited, last, next)) {
+                        count += mCounts[(visited | (1 << next)) * mCellCount + next];
+                    }
+                }
+                mCounts[visited * mCellCount + last] = count;
+            }
+        }
+        long total = 0;
+        for (int first = 0; first < mCellCount; first++) {
+            total += mCounts[(1 << first) * mCellCount + first];
+        }
+        mPatternCount = total;
+    }
+
+    public PatternRules getRules() {
+        return mRules;
+    }
+
+    /**
+     * 合法图案总数（3*3网格、最少4个点时为389112）
+     */
+    public long getPatternCount() {
+        return mPatternCount;
+    }
+
+    /**
+     * 图案编码
+     * <p>
+     * 排序规则：先按首点下标排序；同一前缀下，前缀自身（点数满足最少点数时）排在最前，其后按下一个点的下标排序
+     *
+     * @param cells  点下标序列
+     * @param length 点数
+     * @return 编码值，图案不合法时返回-1
+     */
+    public long rank(int[] cells, int length) {
+        if (length > cells.length) {
+            return -1;
+        }
+        return rank(cells, null, length);
+    }
+
+    /**
+     * 图案编码（数字密码形式，即{@link com.yisan.library.listener.OnGestureLockListener#onComplete(String)}的结果，仅适用于不超过10个点的网格）
+     *
+     * @param password 数字密码
+     * @return 编码值，图案不合法时返回-1
+     */
+    public long rank(CharSequence password) {
+        if (mCellCount > 10) {
+            throw new IllegalStateException("digit passwords require at most 10 cells");
+        }
+        return rank(null, password, password.length());
+    }
+
+    /**
+     * 图案编码（点序列来自cells或password其中之一）
+     */
+    private long rank(int[] cells, CharSequence password, int length) {
+        if (length < mRules.getMinLength() || length > mCellCount) {
+            return -1;
+        }
+        long rank = 0;
+        int visited = 0;
+        int last = -1;
+        for (int i = 0; i < length; i++) {
+            int cell = cells != null ? cells[i] : password.charAt(i) - '0';
+            if (cell < 0 || cell >= mCellCount) {
+                return -1;
+            }
+            if (last < 0) {
+                // 1.首点：累加首点下标更小的全部图案
+                for (int first = 0; first < cell; first++) {
+                    rank += mCounts[(1 << first) * mCellCount + first];
+                }
+            } else {
+                if (!mRules.canConnect(visited, last, cell)) {
+                    return -1;
+                }
+                // 2.前缀自身排在最前，再累加下一个点下标更小的兄弟图案
+                if (Integer.bitCount(visited) >= mRules.getMinLength()) {
+                    rank++;
+                }
+                for (int next = 0; next < cell; next++) {
+                    if (mRules.canConnect(visited, last, next)) {
+                        rank += mCounts[(visited | (1 << next)) * mCellCount + next];
+                    }
+                }
+            }
+            visited |= 1 << cell;
+            last = cell;
+        }
+        return rank;
+    }
+
+    /**
+     * 图案解码
+     *
+     * @param rank  编码值（取值范围[0,getPatternCount())）
+     * @param cells 输出点下标序列（长度不小于点的数量）
+     * @return 点数
+     */
+    public int unrank(long rank, int[] cells) {
+        if (rank < 0 || rank >= mPatternCount) {
+            throw new IllegalArgumentException("rank out of range: " + rank);
+        }
+        // 1.确定首点
+        int last = 0;
+        while (rank >= mCounts[(1 << last) * mCellCount + last]) {
+            rank -= mCounts[(1 << last) * mCellCount + last];
+            last++;
+        }
+        cells[0] = last;
+        int visited = 1 << last;
+        int length = 1;
+        // 2.逐点确定后续点
+        while (true) {
+            if (Integer.bitCount(visited) >= mRules.getMinLength()) {
+                if (rank == 0) {
+                    return length;
+                }
+                rank--;
+            }
+            for (int next = 0; next < mCellCount; next++) {
+                if (!mRules.canConnect(visited, last, next)) {
+                    continue;
+                }
+                long count = mCounts[(visited | (1 << next)) * mCellCount + next];
+                if (rank < count) {
+                    cells[length++] = next;
+                    visited |= 1 << next;
+                    last = next;
+                    break;
+                }
+                rank -= count;
+            }
+        }
+    }
+}
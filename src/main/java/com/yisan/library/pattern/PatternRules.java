@@ -0,0 +1,164 @@
+package com.yisan.library.pattern;
+
+/**
+ * @description: 手势图案识别规则（与GestureLockView的网格布局一致：连线经过的中间点必须已被按下，中间点取自{@link MiddleCellTable#ofGrid(int)}；点下标按行优先排列）
+ * @packageName: com.yisan.library.pattern
+ */
+public final class PatternRules {
+
+    /**
+     * 默认网格大小（3*3）
+     */
+    public static final int DEFAULT_GRID_SIZE = 3;
+    /**
+     * 默认最少点数
+     */
+    public static final int DEFAULT_MIN_LENGTH = 4;
+    /**
+     * 最大点数（已按下点集合使用long位掩码记录）
+     */
+    public static final int MAX_CELL_COUNT = 64;
+
+    private static final PatternRules DEFAULT_RULES = new PatternRules(DEFAULT_GRID_SIZE, DEFAULT_MIN_LENGTH);
+
+    /**
+     * 网格大小（每行/每列点数）
+     */
+    private final int mGridSize;
+    /**
+     * 点的数量
+     */
+    private final int mCellCount;
+    /**
+     * 最少点数
+     */
+    private final int mMinLength;
+    /**
+     * 中间点表（与网格布局GridPointLayout使用同一张表）
+     */
+    private final MiddleCellTable mMiddleCells;
+    /**
+     * 中间点位掩码（下标from * cellCount + to，两点之间不存在中间点时为0）
+     */
+    private final long[] mMiddleMasks;
+
+    /**
+     * @param gridSize  网格大小（每行/每列点数）
+     * @param minLength 最少点数（取值范围[1,gridSize * gridSize]）
+     */
+    public PatternRules(int gridSize, int minLength) {
+        if (gridSize < 1 || gridSize * gridSize > MAX_CELL_COUNT) {
+            throw new IllegalArgumentException("gridSize out of range: " + gridSize);
+        }
+        mGridSize = gridSize;
+        mCellCount = gridSize * gridSize;
+        if (minLength < 1 || minLength > mCellCount) {
+            throw new IllegalArgumentException("minLength out of range: " + minLength);
+        }
+        mMinLength = minLength;
+        // 连线经过的所有中间点合并为一个位掩码，校验时一次比较
+        mMiddleCells = MiddleCellTable.ofGrid(gridSize);
+        mMiddleMasks = new long[mCellCount * mCellCount];
+        for (int from = 0; from < mCellCount; from++) {
+            for (int to = 0; to < mCellCount; to++) {
+                long mask = 0;
+                for (int i = 0; i < mMiddleCells.getMiddleCount(from, to); i++) {
+                    mask |= 1L << mMiddleCells.getMiddleCell(from, to, i);
+                }
+                mMiddleMasks[from * mCellCount + to] = mask;
+            }
+        }
+    }
+
+    /**
+     * 默认规则（3*3网格，最少4个点）
+     */
+    public static PatternRules defaultRules() {
+        return DEFAULT_RULES;
+    }
+
+    public int getGridSize() {
+        return mGridSize;
+    }
+
+    public int getCellCount() {
+        return mCellCount;
+    }
+
+    public int getMinLength() {
+        return mMinLength;
+    }
+
+    /**
+     * 获取两点连线上最靠近from的中间点
+     *
+     * @return 中间点下标，不存在时返回-1
+     */
+    public int getMiddleCell(int from, int to) {
+        return mMiddleCells.getMiddleCount(from, to) > 0 ? mMiddleCells.getMiddleCell(from, to, 0) : -1;
+    }
+
+    /**
+     * 获取中间点表
+     */
+    public MiddleCellTable getMiddleCells() {
+        return mMiddleCells;
+    }
+
+    /**
+     * 判断能否从from连线到to
+     *
+     * @param visited 已按下点的位掩码（包含from）
+     * @param from    当前最后按下的点
+     * @param to      下一个点
+     */
+    public boolean canConnect(long visited, int from, int to) {
+        if ((visited & (1L << to)) != 0) {
+            return false;
+        }
+        long middles = mMiddleMasks[from * mCellCount + to];
+        return (visited & middles) == middles;
+    }
+
+    /**
+     * 判断手势图案是否合法（点数不少于最少点数、点不重复、经过的中间点已被按下）
+     *
+     * @param cells  点下标序列
+     * @param length 点数
+     */
+    public boolean isValid(int[] cells, int length) {
+        return length <= cells.length && isValid(cells, null, length);
+    }
+
+    /**
+     * 判断手势图案是否合法（密码形式，即{@link com.yisan.library.listener.OnGestureLockListener#onComplete(String)}的结果，每个字符为'0' + 点下标）
+     *
+     * @param password 密码
+     */
+    public boolean isValid(CharSequence password) {
+        return isValid(null, password, password.length());
+    }
+
+    /**
+     * 校验点下标序列（cells与password二选一，避免把密码复制为数组）
+     */
+    private boolean isValid(int[] cells, CharSequence password, int length) {
+        if (length < mMinLength || length > mCellCount) {
+            return false;
+        }
+        long visited = 0;
+        int last = -1;
+        for (int i = 0; i < length; i++) {
+            int cell = cells != null ? cells[i] : password.charAt(i) - '0';
+            if (cell < 0 || cell >= mCellCount) {
+                return false;
+            }
+            if (last < 0 ? (visited & (1L << cell)) != 0 : !canConnect(visited, last, cell)) {
+                return false;
+            }
+            visited |= 1L << cell;
+            last = cell;
+        }
+        return true;
+    }
+}
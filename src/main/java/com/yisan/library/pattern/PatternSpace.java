@@ -0,0 +1,377 @@
+package com.yisan.library.pattern;
+
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * @description: 图案空间枚举与统计引擎（位掩码动态规划 + Fork/Join并行）
+ * @packageName: com.yisan.library.pattern
+ */
+public final class PatternSpace {
+
+    /**
+     * 统计各点数数量时支持的最大点数（5*5）
+     * <p>
+     * 动态规划按点数分层，只保留相邻两层状态；5*5网格峰值约1.3亿个状态，每个状态16字节，需约2.1GB堆内存
+     */
+    public static final int MAX_COUNT_CELL_COUNT = 25;
+    /**
+     * 统计强度分布时支持的最大点数（4*4，状态需额外按强度展开）
+     */
+    public static final int MAX_STRENGTH_CELL_COUNT = 16;
+
+    /**
+     * 每个并行子任务处理的最少位掩码数量
+     */
+    private static final int SPLIT_THRESHOLD = 1 << 11;
+
+    private final PatternRules mRules;
+    private final int mCellCount;
+    private final ForkJoinPool mPool;
+    /**
+     * 组合数表（C[n][k]，用于按组合数系统给同一层的位掩码编号）
+     */
+    private final long[][] mBinomials;
+    /**
+     * 非相邻连线表（下标from * cellCount + to）
+     */
+    private final boolean[] mLongSegments;
+
+    /**
+     * 使用公共线程池（Android上需要API 24+，主要用于JVM上的安全评估工具）
+     *
+     * @param rules 手势图案识别规则
+     */
+    public PatternSpace(PatternRules rules) {
+        this(rules, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param rules 手势图案识别规则
+     * @param pool  并行计算使用的线程池
+     */
+    public PatternSpace(PatternRules rules, ForkJoinPool pool) {
+        mRules = rules;
+        mCellCount = rules.getCellCount();
+        mPool = pool;
+        mBinomials = new long[mCellCount + 1][mCellCount + 1];
+        for (int n = 0; n <= mCellCount; n++) {
+            mBinomials[n][0] = 1;
+            for (int k = 1; k <= n; k++) {
+                mBinomials[n][k] = mBinomials[n - 1][k - 1] + (k <= n - 1 ? mBinomials[n - 1][k] : 0);
+            }
+        }
+        int gridSize = rules.getGridSize();
+        mLongSegments = new boolean[mCellCount * mCellCount];
+        for (int from = 0; from < mCellCount; from++) {
+            for (int to = 0; to < mCellCount; to++) {
+                int dr = Math.abs(from / gridSize - to / gridSize);
+                int dc = Math.abs(from % gridSize - to % gridSize);
+                mLongSegments[from * mCellCount + to] = Math.max(dr, dc) > 1;
+            }
+        }
+    }
+
+    /**
+     * 统计各点数的合法图案数量
+     *
+     * @param withStrength 是否同时统计强度分布（见{@link PatternStatistics#getCount(int, int)}）
+     */
+    public PatternStatistics computeStatistics(boolean withStrength) {
+        if (mCellCount > MAX_COUNT_CELL_COUNT) {
+            throw new IllegalArgumentException("cellCount exceeds " + MAX_COUNT_CELL_COUNT + ": " + mCellCount);
+        }
+        if (withStrength && mCellCount > MAX_STRENGTH_CELL_COUNT) {
+            throw new IllegalArgumentException("strength distribution supports at most "
+                    + MAX_STRENGTH_CELL_COUNT + " cells: " + mCellCount);
+        }
+        int strengthSlots = withStrength ? mCellCount : 1;
+        BigInteger[][] counts = new BigInteger[mCellCount + 1][];
+        counts[0] = new BigInteger[0];
+        // 1.第1层：每个点单独构成一个图案
+        Layer layer = new Layer(1, strengthSlots);
+        for (int cell = 0; cell < mCellCount; cell++) {
+            layer.lo[cell * strengthSlots] = 1;
+        }
+        counts[1] = newCounts(strengthSlots, 1);
+        counts[1][0] = BigInteger.valueOf(mCellCount);
+        // 2.逐层拉取上一层的计数（每个状态只由一个子任务写入，无需同步）
+        for (int length = 2; length <= mCellCount; length++) {
+            Layer next = new Layer(length, strengthSlots);
+            long maskCount = mBinomials[mCellCount][length];
+            long[] sums = mPool.invoke(new LayerTask(layer, next, 0, maskCount));
+            counts[length] = newCounts(strengthSlots, withStrength ? length : 1);
+            for (int s = 0; s < counts[length].length; s++) {
+                counts[length][s] = toBigInteger(sums[2 * s], sums[2 * s + 1]);
+            }
+            layer = next;
+        }
+        return new PatternStatistics(mRules, counts, withStrength);
+    }
+
+    /**
+     * 并行枚举所有合法图案（点数不少于最少点数）
+     *
+     * @param visitor 图案访问者（会被多个线程并发调用）
+     */
+    public void forEachPattern(PatternVisitor visitor) {
+        forEachPattern(mCellCount, visitor);
+    }
+
+    /**
+     * 并行枚举点数不超过maxLength的合法图案（点数不少于最少点数）
+     *
+     * @param maxLength 最多点数
+     * @param visitor   图案访问者（会被多个线程并发调用，cells数组仅在回调期间有效）
+     */
+    public void forEachPattern(int maxLength, PatternVisitor visitor) {
+        mPool.invoke(new EnumerateTask(Math.min(maxLength, mCellCount), visitor));
+    }
+
+    /**
+     * 图案访问者
+     */
+    public interface PatternVisitor {
+
+        /**
+         * @param cells  点下标序列（仅在回调期间有效，不要修改）
+         * @param length 点数
+         */
+        void visit(int[] cells, int length);
+    }
+
+    private static BigInteger[] newCounts(int strengthSlots, int size) {
+        BigInteger[] counts = new BigInteger[Math.min(strengthSlots, size)];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = BigInteger.ZERO;
+        }
+        return counts;
+    }
+
+    private static BigInteger toBigInteger(long lo, long hi) {
+        BigInteger low = BigInteger.valueOf(lo & Long.MAX_VALUE);
+        if (lo < 0) {
+            low = low.setBit(63);
+        }
+        return BigInteger.valueOf(hi).shiftLeft(64).add(low);
+    }
+
+    /**
+     * 位掩码在同层（相同点数）中的编号（组合数系统，与数值递增顺序一致）
+     */
+    private long rankMask(int mask) {
+        long rank = 0;
+        for (int i = 1; mask != 0; i++, mask &= mask - 1) {
+            rank += mBinomials[Integer.numberOfTrailingZeros(mask)][i];
+        }
+        return rank;
+    }
+
+    /**
+     * 由同层编号还原位掩码
+     */
+    private int unrankMask(long rank, int bitCount) {
+        int mask = 0;
+        int bit = mCellCount - 1;
+        for (int i = bitCount; i >= 1; i--) {
+            while (mBinomials[bit][i] > rank) {
+                bit--;
+            }
+            rank -= mBinomials[bit][i];
+            mask |= 1 << bit;
+            bit--;
+        }
+        return mask;
+    }
+
+    /**
+     * 一层动态规划状态（位掩码编号 * 点数 + 最后一点在位掩码中的序号，再按强度展开），计数为128位无符号整数
+     */
+    private final class Layer {
+        final int length;
+        final int strengthSlots;
+        final long[] lo;
+        final long[] hi;
+
+        Layer(int length, int strengthSlots) {
+            this.length = length;
+            this.strengthSlots = strengthSlots;
+            long size = mBinomials[mCellCount][length] * length * strengthSlots;
+            lo = new long[(int) size];
+            hi = new long[(int) size];
+        }
+    }
+
+    /**
+     * 计算一层中位掩码编号[from,to)的状态，返回该范围内各强度的计数之和（lo/hi交替）
+     */
+    private final class LayerTask extends RecursiveTask<long[]> {
+        private final Layer prev;
+        private final Layer next;
+        private final long from;
+        private final long to;
+
+        LayerTask(Layer prev, Layer next, long from, long to) {
+            this.prev = prev;
+            this.next = next;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from > SPLIT_THRESHOLD) {
+                long middle = (from + to) >>> 1;
+                LayerTask left = new LayerTask(prev, next, from, middle);
+                left.fork();
+                long[] right = new LayerTask(prev, next, middle, to).compute();
+                long[] sums = left.join();
+                for (int s = 0; s < sums.length; s += 2) {
+                    add(sums, s, right[s], right[s + 1]);
+                }
+                return sums;
+            }
+            int slots = next.strengthSlots;
+            int length = next.length;
+            long[] sums = new long[2 * slots];
+            int mask = unrankMask(from, length);
+            for (long rank = from; rank < to; rank++) {
+                int lastOrder = 0;
+                for (int lasts = mask; lasts != 0; lasts &= lasts - 1, lastOrder++) {
+                    int last = Integer.numberOfTrailingZeros(lasts);
+                    int prevMask = mask & ~(1 << last);
+                    long prevBase = rankMask(prevMask) * (length - 1);
+                    int outIndex = (int) ((rank * length + lastOrder) * slots);
+                    int prevOrder = 0;
+                    for (int prevs = prevMask; prevs != 0; prevs &= prevs - 1, prevOrder++) {
+                        int prevCell = Integer.numberOfTrailingZeros(prevs);
+                        if (!mRules.canConnect(prevMask, prevCell, last)) {
+                            continue;
+                        }
+                        int shift = slots > 1 && mLongSegments[prevCell * mCellCount + last] ? 1 : 0;
+                        int inIndex = (int) ((prevBase + prevOrder) * slots);
+                        for (int s = 0; s + shift < slots; s++) {
+                            addTo(next, outIndex + s + shift, prev.lo[inIndex + s], prev.hi[inIndex + s]);
+                        }
+                    }
+                    for (int s = 0; s < slots; s++) {
+                        add(sums, 2 * s, next.lo[outIndex + s], next.hi[outIndex + s]);
+                    }
+                }
+                // 同层下一个位掩码（Gosper's hack）
+                int lowest = mask & -mask;
+                int ripple = mask + lowest;
+                mask = (((ripple ^ mask) >>> 2) / lowest) | ripple;
+            }
+            return sums;
+        }
+
+        private void addTo(Layer layer, int index, long lo, long hi) {
+            long sum = layer.lo[index] + lo;
+            layer.hi[index] += hi + carry(sum, lo);
+            layer.lo[index] = sum;
+        }
+
+        private void add(long[] values, int index, long lo, long hi) {
+            long sum = values[index] + lo;
+            values[index + 1] += hi + carry(sum, lo);
+            values[index] = sum;
+        }
+
+        /**
+         * 无符号加法进位（sum = a + addend，无符号比较sum < addend时产生进位）
+         */
+        private int carry(long sum, long addend) {
+            return (sum ^ Long.MIN_VALUE) < (addend ^ Long.MIN_VALUE) ? 1 : 0;
+        }
+    }
+
+    /**
+     * 枚举任务（按首点、第二个点拆分为子任务，子任务内迭代深度优先搜索）
+     */
+    private final class EnumerateTask extends RecursiveAction {
+        private final int maxLength;
+        private final PatternVisitor visitor;
+        private final int first;
+        private final int second;
+
+        EnumerateTask(int maxLength, PatternVisitor visitor) {
+            this(maxLength, visitor, -1, -1);
+        }
+
+        private EnumerateTask(int maxLength, PatternVisitor visitor, int first, int second) {
+            this.maxLength = maxLength;
+            this.visitor = visitor;
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        protected void compute() {
+            // 1.根任务按首点拆分
+            if (first < 0) {
+                EnumerateTask[] tasks = new EnumerateTask[mCellCount];
+                for (int cell = 0; cell < mCellCount; cell++) {
+                    tasks[cell] = new EnumerateTask(maxLength, visitor, cell, -1);
+                }
+                invokeAll(tasks);
+                return;
+            }
+            int[] cells = new int[mCellCount];
+            cells[0] = first;
+            // 2.首点任务输出单点图案，再按第二个点拆分
+            if (second < 0) {
+                if (mRules.getMinLength() <= 1 && maxLength >= 1) {
+                    visitor.visit(cells, 1);
+                }
+                if (maxLength < 2) {
+                    return;
+                }
+                EnumerateTask[] tasks = new EnumerateTask[mCellCount];
+                int count = 0;
+                for (int cell = 0; cell < mCellCount; cell++) {
+                    if (mRules.canConnect(1L << first, first, cell)) {
+                        tasks[count++] = new EnumerateTask(maxLength, visitor, first, cell);
+                    }
+                }
+                for (int i = 0; i < count; i++) {
+                    tasks[i].fork();
+                }
+                for (int i = count - 1; i >= 0; i--) {
+                    tasks[i].join();
+                }
+                return;
+            }
+            // 3.以(first,second)为前缀迭代深度优先搜索，next[i]记录第i个位置的下一个候选点
+            cells[1] = second;
+            int[] next = new int[mCellCount + 1];
+            long visited = (1L << first) | (1L << second);
+            int length = 2;
+            if (length >= mRules.getMinLength()) {
+                visitor.visit(cells, length);
+            }
+            while (true) {
+                if (length < maxLength && next[length] < mCellCount) {
+                    int candidate = next[length]++;
+                    if (mRules.canConnect(visited, cells[length - 1], candidate)) {
+                        cells[length] = candidate;
+                        visited |= 1L << candidate;
+                        length++;
+                        next[length] = 0;
+                        if (length >= mRules.getMinLength()) {
+                            visitor.visit(cells, length);
+                        }
+                    }
+                } else {
+                    if (length == 2) {
+                        return;
+                    }
+                    length--;
+                    visited &= ~(1L << cells[length]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.yisan.library.pattern;
+
+import java.math.BigInteger;
+
+/**
+ * @description: 图案空间统计结果（各点数的合法图案数量，以及可选的强度分布）
+ * @packageName: com.yisan.library.pattern
+ */
+public final class PatternStatistics {
+
+    private final PatternRules mRules;
+    /**
+     * 各点数、各强度的图案数量（[length][strength]，未统计强度时只有strength = 0一列）
+     */
+    private final BigInteger[][] mCounts;
+    private final boolean isStrengthComputed;
+
+    PatternStatistics(PatternRules rules, BigInteger[][] counts, boolean strengthComputed) {
+        mRules = rules;
+        mCounts = counts;
+        isStrengthComputed = strengthComputed;
+    }
+
+    public PatternRules getRules() {
+        return mRules;
+    }
+
+    /**
+     * 是否统计了强度分布
+     */
+    public boolean isStrengthComputed() {
+        return isStrengthComputed;
+    }
+
+    /**
+     * 点数为length的合法图案数量（不区分最少点数，length取值范围[1,cellCount]）
+     */
+    public BigInteger getCount(int length) {
+        BigInteger count = BigInteger.ZERO;
+        for (BigInteger value : mCounts[length]) {
+            count = count.add(value);
+        }
+        return count;
+    }
+
+    /**
+     * 点数为length、强度为strength的合法图案数量
+     * <p>
+     * 强度即非相邻连线（两端点不是横、竖、斜方向相邻点的连线）的数量，取值范围[0,length - 1]
+     */
+    public BigInteger getCount(int length, int strength) {
+        if (!isStrengthComputed) {
+            throw new IllegalStateException("strength distribution was not computed");
+        }
+        return strength < mCounts[length].length ? mCounts[length][strength] : BigInteger.ZERO;
+    }
+
+    /**
+     * 合法图案总数（点数不少于最少点数）
+     */
+    public BigInteger getTotalCount() {
+        BigInteger total = BigInteger.ZERO;
+        for (int length = mRules.getMinLength(); length <= mRules.getCellCount(); length++) {
+            total = total.add(getCount(length));
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(mRules.getGridSize()).append('x').append(mRules.getGridSize())
+                .append(" total=").append(getTotalCount());
+        for (int length = 1; length <= mRules.getCellCount(); length++) {
+            builder.append("\n  length ").append(length).append(": ").append(getCount(length));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,199 @@
+package com.yisan.library.benchmark;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+
+import com.yisan.library.GestureLockView;
+import com.yisan.library.model.PointTable;
+import com.yisan.library.painter.Painter;
+import com.yisan.library.painter.PainterContext;
+import com.yisan.library.util.DimensionUtil;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+/**
+ * @description: Painter离屏渲染基准（按脚本手势驱动GestureLockView，统计drawPoints/drawLines每帧耗时与内存分配）
+ * <p>
+ * 仅用于JVM单元测试（Robolectric），内存分配由JVM ThreadMXBean统计
+ * @packageName: com.yisan.library.benchmark
+ */
+final class PainterBenchmark {
+
+    /**
+     * 脚本手势依次经过的点（Z字形，包含拐角与斜线）
+     */
+    private static final int[] GESTURE_CELLS = {0, 1, 2, 4, 6, 7, 8};
+    /**
+     * 每次手势的帧数
+     */
+    private static final int FRAMES_PER_GESTURE = 60;
+
+    private final Context mContext;
+    private final int mViewSize;
+    private final int mLineSize;
+    private final com.sun.management.ThreadMXBean mThreadBean;
+
+    /**
+     * @param context  上下文环境
+     * @param viewSize 视图尺寸（像素）
+     */
+    PainterBenchmark(Context context, int viewSize) {
+        mContext = context;
+        mViewSize = viewSize;
+        mLineSize = DimensionUtil.dp2px(context, 1);
+        mThreadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    }
+
+    /**
+     * 当前JVM是否支持统计线程内存分配
+     */
+    boolean isAllocationCountingSupported() {
+        return mThreadBean.isThreadAllocatedMemorySupported() && mThreadBean.isThreadAllocatedMemoryEnabled();
+    }
+
+    /**
+     * 运行基准
+     *
+     * @param painter      绘制者
+     * @param warmupFrames 预热帧数（不计入统计）
+     * @param frames       统计帧数
+     */
+    Result run(Painter painter, int warmupFrames, int frames) {
+        // 1.创建并布局视图，绘制者关联到该视图
+        GestureLockView view = new GestureLockView(mContext);
+        int spec = View.MeasureSpec.makeMeasureSpec(mViewSize, View.MeasureSpec.EXACTLY);
+        view.measure(spec, spec);
+        view.layout(0, 0, mViewSize, mViewSize);
+        view.setPainter(painter);
+        PainterContext painterContext = view.getPainterContext();
+        PointTable points = view.getPoints();
+        Bitmap bitmap = Bitmap.createBitmap(mViewSize, mViewSize, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+        long counterOverhead = measureCounterOverhead();
+        // 2.逐帧驱动手势并分别统计drawPoints/drawLines
+        long pointsNanos = 0;
+        long linesNanos = 0;
+        long pointsBytes = 0;
+        long linesBytes = 0;
+        float[] position = new float[2];
+        long downTime = SystemClock.uptimeMillis();
+        for (int frame = 0; frame < warmupFrames + frames; frame++) {
+            int step = frame % FRAMES_PER_GESTURE;
+            int gesture = frame / FRAMES_PER_GESTURE;
+            gesturePosition(points, step, position);
+            if (step == 0) {
+                downTime = SystemClock.uptimeMillis();
+                dispatch(view, downTime, MotionEvent.ACTION_DOWN, position);
+            } else if (step == FRAMES_PER_GESTURE - 1) {
+                dispatch(view, downTime, MotionEvent.ACTION_UP, position);
+                // 每隔一次手势显示错误状态，覆盖错误状态画笔
+                if (gesture % 2 == 1) {
+                    view.showErrorStatus();
+                }
+            } else {
+                dispatch(view, downTime, MotionEvent.ACTION_MOVE, position);
+            }
+            canvas.drawColor(Color.WHITE);
+            long startBytes = getAllocatedBytes();
+            long startNanos = System.nanoTime();
+            painter.drawPoints(painterContext, points, canvas);
+            long middleNanos = System.nanoTime();
+            long middleBytes = getAllocatedBytes();
+            painter.drawLines(painterContext, points, position[0], position[1], mLineSize, canvas);
+            long endNanos = System.nanoTime();
+            long endBytes = getAllocatedBytes();
+            if (frame >= warmupFrames) {
+                pointsNanos += middleNanos - startNanos;
+                linesNanos += endNanos - middleNanos;
+                pointsBytes += Math.max(0, middleBytes - startBytes - counterOverhead);
+                linesBytes += Math.max(0, endBytes - middleBytes - counterOverhead);
+            }
+        }
+        bitmap.recycle();
+        return new Result(painter.getClass().getSimpleName(), frames,
+                pointsNanos / frames, linesNanos / frames,
+                (double) pointsBytes / frames, (double) linesBytes / frames);
+    }
+
+    /**
+     * 脚本手势：按帧在GESTURE_CELLS之间线性插值
+     */
+    private void gesturePosition(PointTable points, int step, float[] out) {
+        float progress = (float) step / (FRAMES_PER_GESTURE - 1) * (GESTURE_CELLS.length - 1);
+        int index = Math.min((int) progress, GESTURE_CELLS.length - 2);
+        float fraction = progress - index;
+        int from = GESTURE_CELLS[index];
+        int to = GESTURE_CELLS[index + 1];
+        out[0] = points.getX(from) + (points.getX(to) - points.getX(from)) * fraction;
+        out[1] = points.getY(from) + (points.getY(to) - points.getY(from)) * fraction;
+    }
+
+    private static void dispatch(GestureLockView view, long downTime, int action, float[] position) {
+        MotionEvent event = MotionEvent.obtain(downTime, SystemClock.uptimeMillis(),
+                action, position[0], position[1], 0);
+        view.onTouchEvent(event);
+        event.recycle();
+    }
+
+    /**
+     * 当前线程累计分配的字节数
+     */
+    private long getAllocatedBytes() {
+        return mThreadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * 计数器自身调用产生的分配
+     */
+    private long measureCounterOverhead() {
+        long overhead = Long.MAX_VALUE;
+        for (int i = 0; i < 16; i++) {
+            long start = getAllocatedBytes();
+            long end = getAllocatedBytes();
+            overhead = Math.min(overhead, end - start);
+        }
+        return Math.max(0, overhead);
+    }
+
+    /**
+     * 基准结果
+     */
+    static final class Result {
+        final String painterName;
+        final int frames;
+        /**
+         * 每帧平均耗时（纳秒）
+         */
+        final long drawPointsNanosPerFrame;
+        final long drawLinesNanosPerFrame;
+        /**
+         * 稳态每帧平均分配字节数
+         */
+        final double drawPointsBytesPerFrame;
+        final double drawLinesBytesPerFrame;
+
+        Result(String painterName, int frames, long drawPointsNanosPerFrame, long drawLinesNanosPerFrame,
+               double drawPointsBytesPerFrame, double drawLinesBytesPerFrame) {
+            this.painterName = painterName;
+            this.frames = frames;
+            this.drawPointsNanosPerFrame = drawPointsNanosPerFrame;
+            this.drawLinesNanosPerFrame = drawLinesNanosPerFrame;
+            this.drawPointsBytesPerFrame = drawPointsBytesPerFrame;
+            this.drawLinesBytesPerFrame = drawLinesBytesPerFrame;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US,
+                    "%s: drawPoints %d ns/%.1f B, drawLines %d ns/%.1f B per frame (%d frames)",
+                    painterName, drawPointsNanosPerFrame, drawPointsBytesPerFrame,
+                    drawLinesNanosPerFrame, drawLinesBytesPerFrame, frames);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.yisan.library.benchmark;
+
+import android.content.Context;
+
+import com.yisan.library.painter.AliPayPainter;
+import com.yisan.library.painter.GestureLockPainter;
+import com.yisan.library.painter.JDFinancePainter;
+import com.yisan.library.painter.LUcomPainter;
+import com.yisan.library.painter.Painter;
+import com.yisan.library.painter.System360Painter;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.GraphicsMode;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * @description: 内置绘制者的离屏渲染基准（稳态每帧分配超过门限时测试失败）
+ * <p>
+ * 使用原生图形模式，Canvas/Path/Bitmap由真实的图形库实现，不会把影子对象的记录开销计入绘制者
+ * @packageName: com.yisan.library.benchmark
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class PainterBenchmarkTest {
+
+    private static final int VIEW_SIZE = 1080;
+    private static final int WARMUP_FRAMES = 240;
+    private static final int FRAMES = 600;
+    /**
+     * 稳态每帧允许的平均分配字节数（每帧新建任何Path、Paint或数组都会超出）
+     */
+    private static final double MAX_BYTES_PER_FRAME = 64;
+
+    private PainterBenchmark mBenchmark;
+
+    @Before
+    public void setUp() {
+        Context context = RuntimeEnvironment.getApplication();
+        mBenchmark = new PainterBenchmark(context, VIEW_SIZE);
+        assumeTrue("thread allocation counting unsupported", mBenchmark.isAllocationCountingSupported());
+    }
+
+    @Test
+    public void system360Painter() {
+        assertAllocationsWithinThreshold(new System360Painter());
+    }
+
+    @Test
+    public void aliPayPainter() {
+        assertAllocationsWithinThreshold(new AliPayPainter());
+    }
+
+    @Test
+    public void jdFinancePainter() {
+        assertAllocationsWithinThreshold(new JDFinancePainter());
+    }
+
+    @Test
+    public void lUcomPainter() {
+        assertAllocationsWithinThreshold(new LUcomPainter());
+    }
+
+    @Test
+    public void gestureLockPainter() {
+        assertAllocationsWithinThreshold(new GestureLockPainter());
+    }
+
+    private void assertAllocationsWithinThreshold(Painter painter) {
+        PainterBenchmark.Result result = mBenchmark.run(painter, WARMUP_FRAMES, FRAMES);
+        // 每帧耗时与分配统计只在指定-PpainterBenchmark.verbose=true时输出，失败时随断言信息报告
+        if (Boolean.getBoolean("painterBenchmark.verbose")) {
+            System.out.println(result);
+        }
+        assertTrue("drawPoints allocates beyond " + MAX_BYTES_PER_FRAME + " B/frame: " + result,
+                result.drawPointsBytesPerFrame <= MAX_BYTES_PER_FRAME);
+        assertTrue("drawLines allocates beyond " + MAX_BYTES_PER_FRAME + " B/frame: " + result,
+                result.drawLinesBytesPerFrame <= MAX_BYTES_PER_FRAME);
+    }
+}